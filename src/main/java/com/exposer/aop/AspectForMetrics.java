@@ -0,0 +1,93 @@
+package com.exposer.aop;
+
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every controller, service and DAO call into the {@code exposer.method.duration} timer,
+ * tagged by layer, class, method and outcome.
+ *
+ * @implNote Timers publish a percentile histogram, so p50/p99 per call are computed by Prometheus from
+ * {@code /actuator/prometheus}. Timers are resolved once per method and kept in a map, the hot path
+ * is two {@code nanoTime} reads and a record. Log lines are only written for a sampled share of calls,
+ * see {@link TimingSwitch}.
+ */
+@Aspect
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class AspectForMetrics {
+
+    private static final String METRIC_NAME = "exposer.method.duration";
+
+    private final MeterRegistry meterRegistry;
+    private final TimingSwitch timingSwitch;
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    @Around("execution(* com.exposer.controllers..*(..))")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timeExecution(joinPoint, "controller");
+    }
+
+    // DAO beans only, the caches, buffers and helpers of the dao packages run inside them
+    @Around("execution(* com.exposer.dao..*(..)) && @within(org.springframework.stereotype.Repository)")
+    public Object timeDao(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timeExecution(joinPoint, "dao");
+    }
+
+    @Around("execution(* com.exposer.services..*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timeExecution(joinPoint, "service");
+    }
+
+    private Object timeExecution(ProceedingJoinPoint joinPoint, String layer) throws Throwable {
+
+        Signature signature = joinPoint.getSignature();
+        Class<?> declaringType = signature.getDeclaringType();
+
+        if (!timingSwitch.isEnabled(declaringType)) return joinPoint.proceed();
+
+        long start = System.nanoTime();
+        String outcome = "success";
+
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            outcome = "error";
+            throw ex;
+        } finally {
+            long duration = System.nanoTime() - start;
+            timer(layer, declaringType.getSimpleName(), signature.getName(), outcome).record(duration, TimeUnit.NANOSECONDS);
+
+            if (timingSwitch.shouldLog()) {
+                log.info("{} :: {}.{}() ==> outcome={}, duration={}us", layer, declaringType.getSimpleName(),
+                        signature.getName(), outcome, TimeUnit.NANOSECONDS.toMicros(duration));
+            }
+        }
+    }
+
+    private Timer timer(String layer, String className, String methodName, String outcome) {
+        return timers.computeIfAbsent(new TimerKey(layer, className, methodName, outcome), key -> Timer.builder(METRIC_NAME)
+                .tag("layer", key.layer())
+                .tag("class", key.className())
+                .tag("method", key.methodName())
+                .tag("outcome", key.outcome())
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private record TimerKey(String layer, String className, String methodName, String outcome) {
+    }
+}
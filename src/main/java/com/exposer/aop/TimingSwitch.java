@@ -0,0 +1,61 @@
+package com.exposer.aop;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Runtime controls of {@link AspectForMetrics}: packages excluded from timing and the share of calls that are logged.
+ */
+@Slf4j
+@Component
+public class TimingSwitch {
+
+    private final Set<String> disabledPackages = new CopyOnWriteArraySet<>();
+    private volatile double logSampleRate;
+
+    TimingSwitch(@Value("${timing.disabled-packages:}") List<String> disabledPackages,
+                 @Value("${timing.log-sample-rate:0.0}") double logSampleRate) {
+
+        disabledPackages.stream().filter(name -> !name.isBlank()).forEach(this.disabledPackages::add);
+        setLogSampleRate(logSampleRate);
+    }
+
+    boolean isEnabled(Class<?> type) {
+        if (disabledPackages.isEmpty()) return true;
+
+        String packageName = type.getPackageName();
+        return disabledPackages.stream().noneMatch(packageName::startsWith);
+    }
+
+    boolean shouldLog() {
+        return logSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < logSampleRate;
+    }
+
+    public Set<String> getDisabledPackages() {
+        return Set.copyOf(disabledPackages);
+    }
+
+    public double getLogSampleRate() {
+        return logSampleRate;
+    }
+
+    public void setEnabled(String packageName, boolean enabled) {
+        if (enabled) disabledPackages.remove(packageName);
+        else disabledPackages.add(packageName);
+
+        log.info("Method timing {} for package {}", enabled ? "enabled" : "disabled", packageName);
+    }
+
+    public void setLogSampleRate(double logSampleRate) {
+        if (logSampleRate < 0 || logSampleRate > 1) {
+            throw new IllegalArgumentException("Log sample rate must be between 0 and 1");
+        }
+        this.logSampleRate = logSampleRate;
+    }
+}
@@ -17,5 +17,13 @@ public final class RedisConstants {
     public static final String COMMENT_CACHE_PREFIX = "comments:";
     public static final String LIKE_CACHE_PREFIX = "likes:";
     public static final String SAVED_POST_CACHE_PREFIX = "saved-posts:";
+    public static final String REACTION_COUNTS_PREFIX = "reactions:";
+
+    public static final String CACHE_INVALIDATION_CHANNEL = "cache:invalidation";
+    public static final String STATS_FLUSH_CHANNEL = "stats:flush";
+    public static final String STATS_FLUSH_ACK_PREFIX = "stats:flush-ack:";
+
+    public static final String REVOKED_USERS_KEY = "auth:revoked-users";
+    public static final String REVOCATION_CHANNEL = "auth:revocation";
 
 }
@@ -0,0 +1,60 @@
+package com.exposer.controllers;
+
+import com.exposer.handler.ResponseHandler;
+import com.exposer.models.dto.request.BulkCommentItem;
+import com.exposer.models.dto.request.BulkLikeItem;
+import com.exposer.models.dto.request.BulkPostItem;
+import com.exposer.models.dto.request.BulkRequest;
+import com.exposer.models.dto.response.ApiResponse;
+import com.exposer.models.dto.response.BulkWriteResponse;
+import com.exposer.services.interfaces.BulkImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import static com.exposer.constants.AppConstants.ONLY_ADMIN;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/bulk")
+@PreAuthorize(ONLY_ADMIN)
+@Tag(name = "Bulk Import", description = "APIs for importing posts, comments and likes in bulk (Admin only)")
+public class BulkController {
+
+    private final BulkImportService bulkImportService;
+
+    @Operation(
+            summary = "Import posts in bulk (Admin only)",
+            description = "Inserts the posts on behalf of their authors. Items that fail are reported by index, the others are kept."
+    )
+    @PostMapping("/posts")
+    public ResponseEntity<ApiResponse<BulkWriteResponse>> importPosts(@Valid @RequestBody BulkRequest<BulkPostItem> request) {
+        BulkWriteResponse response = bulkImportService.importPosts(request.getItems());
+        return ResponseHandler.createBuildResponse("Posts imported", response, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Import comments in bulk (Admin only)",
+            description = "Inserts comments and replies on behalf of their authors. Items that fail are reported by index, the others are kept."
+    )
+    @PostMapping("/comments")
+    public ResponseEntity<ApiResponse<BulkWriteResponse>> importComments(@Valid @RequestBody BulkRequest<BulkCommentItem> request) {
+        BulkWriteResponse response = bulkImportService.importComments(request.getItems());
+        return ResponseHandler.createBuildResponse("Comments imported", response, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Import likes in bulk (Admin only)",
+            description = "Inserts likes on behalf of their users. Duplicate likes and other failures are reported by index, the others are kept."
+    )
+    @PostMapping("/likes")
+    public ResponseEntity<ApiResponse<BulkWriteResponse>> importLikes(@Valid @RequestBody BulkRequest<BulkLikeItem> request) {
+        BulkWriteResponse response = bulkImportService.importLikes(request.getItems());
+        return ResponseHandler.createBuildResponse("Likes imported", response, HttpStatus.OK);
+    }
+}
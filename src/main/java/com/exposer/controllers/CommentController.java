@@ -7,10 +7,11 @@ import com.exposer.models.dto.request.PaginationRequest;
 import com.exposer.models.dto.response.ApiResponse;
 import com.exposer.models.dto.response.CommentResponse;
 import com.exposer.models.dto.response.PagedResponse;
+import com.exposer.security.AuthPrincipal;
+import com.exposer.security.CurrentUser;
 import com.exposer.services.interfaces.CommentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
-import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -21,7 +22,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 
-import static com.exposer.constants.AppConstants.AUTHORIZATION_HEADER;
 import static com.exposer.constants.AppConstants.ONLY_ADMIN;
 
 @RestController
@@ -38,13 +38,7 @@ public class CommentController {
     )
     @PostMapping
     ResponseEntity<ApiResponse<CommentResponse>> createComment(
-            @Parameter(
-                    description = "Bearer token for authentication",
-                    required = true,
-                    in = ParameterIn.HEADER,
-                    example = "Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9..."
-            )
-            @RequestHeader(AUTHORIZATION_HEADER) String token,
+            @Parameter(hidden = true) @CurrentUser AuthPrincipal principal,
 
             @Parameter(
                     description = "Comment creation data",
@@ -53,7 +47,7 @@ public class CommentController {
             )
             @Valid @RequestBody CommentRequest request) {
 
-        CommentResponse comment = commentService.addComment(token, request);
+        CommentResponse comment = commentService.addComment(principal, request);
         return ResponseHandler.createBuildResponse("Comment saved successfully", comment, HttpStatus.CREATED);
     }
 
@@ -63,13 +57,7 @@ public class CommentController {
     )
     @PostMapping("/reply/{commentId}")
     ResponseEntity<ApiResponse<CommentResponse>> replyComment(
-            @Parameter(
-                    description = "Bearer token for authentication",
-                    required = true,
-                    in = ParameterIn.HEADER,
-                    example = "Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9..."
-            )
-            @RequestHeader(AUTHORIZATION_HEADER) String token,
+            @Parameter(hidden = true) @CurrentUser AuthPrincipal principal,
 
             @Parameter(
                     description = "ID of the comment to reply to",
@@ -84,7 +72,7 @@ public class CommentController {
             )
             @Valid @RequestBody CommentRequest request) {
 
-        CommentResponse comment = commentService.replyComment(token, commentId, request);
+        CommentResponse comment = commentService.replyComment(principal, commentId, request);
         return ResponseHandler.createBuildResponse("Reply saved successfully", comment, HttpStatus.CREATED);
     }
 
@@ -94,13 +82,7 @@ public class CommentController {
     )
     @PatchMapping("/{commentId}")
     ResponseEntity<ApiResponse<CommentResponse>> editComment(
-            @Parameter(
-                    description = "Bearer token for authentication",
-                    required = true,
-                    in = ParameterIn.HEADER,
-                    example = "Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9..."
-            )
-            @RequestHeader(AUTHORIZATION_HEADER) String token,
+            @Parameter(hidden = true) @CurrentUser AuthPrincipal principal,
 
             @Parameter(
                     description = "ID of the comment to edit",
@@ -115,7 +97,7 @@ public class CommentController {
             )
             @Valid @RequestBody EditCommentRequest request) {
 
-        CommentResponse comment = commentService.editComment(token, commentId, request);
+        CommentResponse comment = commentService.editComment(principal, commentId, request);
         return ResponseHandler.createBuildResponse("Comment edited successfully", comment, HttpStatus.OK);
     }
 
@@ -125,13 +107,7 @@ public class CommentController {
     )
     @DeleteMapping("/{commentId}")
     ResponseEntity<ApiResponse<Void>> removeComment(
-            @Parameter(
-                    description = "Bearer token for authentication",
-                    required = true,
-                    in = ParameterIn.HEADER,
-                    example = "Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9..."
-            )
-            @RequestHeader(AUTHORIZATION_HEADER) String token,
+            @Parameter(hidden = true) @CurrentUser AuthPrincipal principal,
 
             @Parameter(
                     description = "ID of the comment to delete",
@@ -139,7 +115,7 @@ public class CommentController {
             )
             @PathVariable String commentId) {
 
-        commentService.deleteComment(token, commentId);
+        commentService.deleteComment(principal, commentId);
         return ResponseHandler.createBuildResponseMessage("Your comment softly removed successfully", HttpStatus.OK);
     }
 
@@ -149,13 +125,7 @@ public class CommentController {
     )
     @GetMapping("/")
     ResponseEntity<ApiResponse<PagedResponse<CommentResponse>>> getMyComments(
-            @Parameter(
-                    description = "Bearer token for authentication",
-                    required = true,
-                    in = ParameterIn.HEADER,
-                    example = "Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9..."
-            )
-            @RequestHeader(AUTHORIZATION_HEADER) String token,
+            @Parameter(hidden = true) @CurrentUser AuthPrincipal principal,
 
             @Parameter(
                     description = "Pagination parameters",
@@ -163,7 +133,7 @@ public class CommentController {
             )
             @Valid @ModelAttribute PaginationRequest paginationRequest) {
 
-        PagedResponse<CommentResponse> myComments = commentService.getAllCommentByUser(token, paginationRequest);
+        PagedResponse<CommentResponse> myComments = commentService.getAllCommentByUser(principal, paginationRequest);
 
         if (myComments.getContent().isEmpty()) {
             return ResponseHandler.createBuildResponse("You currently does not have comments", myComments, HttpStatus.NO_CONTENT);
@@ -5,11 +5,13 @@ import com.exposer.models.dto.request.CreateLikeRequest;
 import com.exposer.models.dto.request.PaginationRequest;
 import com.exposer.models.dto.response.ApiResponse;
 import com.exposer.models.dto.response.LikeResponse;
+import com.exposer.models.dto.response.LikeToggleResponse;
 import com.exposer.models.dto.response.PagedResponse;
+import com.exposer.security.AuthPrincipal;
+import com.exposer.security.CurrentUser;
 import com.exposer.services.interfaces.LikeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
-import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -20,7 +22,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 
-import static com.exposer.constants.AppConstants.AUTHORIZATION_HEADER;
 import static com.exposer.constants.AppConstants.ONLY_ADMIN;
 
 @RestController
@@ -33,27 +34,41 @@ public class LikeController {
 
     @Operation(
             summary = "Like a post or comment",
-            description = "Creates a like on a post or comment. If the user has already liked the target, this may toggle the like status."
+            description = "Creates a like on a post or comment. If the user has already liked the target, the existing like is returned."
     )
     @PostMapping
     ResponseEntity<ApiResponse<LikeResponse>> saveLike(
+            @Parameter(hidden = true) @CurrentUser AuthPrincipal principal,
+
             @Parameter(
-                    description = "Bearer token for authentication",
+                    description = "Like creation data",
                     required = true,
-                    in = ParameterIn.HEADER,
-                    example = "Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9..."
+                    schema = @Schema(implementation = CreateLikeRequest.class)
             )
-            @RequestHeader(AUTHORIZATION_HEADER) String token,
+            @Valid @RequestBody CreateLikeRequest request) {
+
+        LikeResponse like = likeService.createLike(principal, request);
+        return ResponseHandler.createBuildResponse("Like saved successfully", like, HttpStatus.CREATED);
+    }
+
+    @Operation(
+            summary = "Toggle a like on a post or comment",
+            description = "Likes the target if the user has not liked it yet, otherwise removes the user's like."
+    )
+    @PostMapping("/toggle")
+    ResponseEntity<ApiResponse<LikeToggleResponse>> toggleLike(
+            @Parameter(hidden = true) @CurrentUser AuthPrincipal principal,
 
             @Parameter(
-                    description = "Like creation data",
+                    description = "Target of the like",
                     required = true,
                     schema = @Schema(implementation = CreateLikeRequest.class)
             )
             @Valid @RequestBody CreateLikeRequest request) {
 
-        LikeResponse like = likeService.createLike(token, request);
-        return ResponseHandler.createBuildResponse("Like saved successfully", like, HttpStatus.CREATED);
+        LikeToggleResponse toggled = likeService.toggleLike(principal, request);
+        String message = toggled.isLiked() ? "Like saved successfully" : "Like removed successfully";
+        return ResponseHandler.createBuildResponse(message, toggled, HttpStatus.OK);
     }
 
     @Operation(
@@ -62,13 +77,7 @@ public class LikeController {
     )
     @DeleteMapping("/{likeId}")
     ResponseEntity<ApiResponse<LikeResponse>> removeLike(
-            @Parameter(
-                    description = "Bearer token for authentication",
-                    required = true,
-                    in = ParameterIn.HEADER,
-                    example = "Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9..."
-            )
-            @RequestHeader(AUTHORIZATION_HEADER) String token,
+            @Parameter(hidden = true) @CurrentUser AuthPrincipal principal,
 
             @Parameter(
                     description = "ID of the like to remove",
@@ -76,7 +85,7 @@ public class LikeController {
             )
             @PathVariable String likeId) {
 
-        likeService.deleteLike(token, likeId);
+        likeService.deleteLike(principal, likeId);
         return ResponseHandler.createBuildResponseMessage("Like removed successfully", HttpStatus.OK);
     }
 
@@ -86,13 +95,7 @@ public class LikeController {
     )
     @GetMapping("/")
     ResponseEntity<ApiResponse<PagedResponse<LikeResponse>>> getMyLikes(
-            @Parameter(
-                    description = "Bearer token for authentication",
-                    required = true,
-                    in = ParameterIn.HEADER,
-                    example = "Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9..."
-            )
-            @RequestHeader(AUTHORIZATION_HEADER) String token,
+            @Parameter(hidden = true) @CurrentUser AuthPrincipal principal,
 
             @Parameter(
                     description = "Pagination parameters",
@@ -100,7 +103,7 @@ public class LikeController {
             )
             @Valid @ModelAttribute PaginationRequest paginationRequest) {
 
-        PagedResponse<LikeResponse> myLikes = likeService.getMyLikes(token, paginationRequest);
+        PagedResponse<LikeResponse> myLikes = likeService.getMyLikes(principal, paginationRequest);
 
         if (myLikes.getContent().isEmpty()) {
             return ResponseHandler.createBuildResponse("You currently do not have any likes", myLikes, HttpStatus.NO_CONTENT);
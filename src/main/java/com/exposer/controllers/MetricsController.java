@@ -0,0 +1,75 @@
+package com.exposer.controllers;
+
+import com.exposer.aop.TimingSwitch;
+import com.exposer.handler.ResponseHandler;
+import com.exposer.models.dto.response.ApiResponse;
+import com.exposer.models.dto.response.admin.TimingSettingsResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.NotBlank;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+
+import static com.exposer.constants.AppConstants.ONLY_ADMIN;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/metrics")
+@Validated
+@PreAuthorize(ONLY_ADMIN)
+@Tag(name = "Metrics Management", description = "APIs for tuning method timing at runtime (Admin only)")
+public class MetricsController {
+
+    private final TimingSwitch timingSwitch;
+
+    @Operation(
+            summary = "Get method timing settings (Admin only)",
+            description = "Returns the packages excluded from method timing and the share of timed calls that are logged."
+    )
+    @GetMapping("/timing")
+    public ResponseEntity<ApiResponse<TimingSettingsResponse>> getTimingSettings() {
+        return ResponseHandler.createBuildResponse("Timing settings retrieved successfully", settings(), HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Enable or disable method timing for a package (Admin only)",
+            description = "Calls of classes under the given package prefix are no longer timed when disabled."
+    )
+    @PatchMapping("/timing/packages")
+    public ResponseEntity<ApiResponse<TimingSettingsResponse>> updatePackage(
+            @Parameter(description = "Package prefix, e.g. com.exposer.dao", required = true)
+            @NotBlank(message = "Package name is required") @RequestParam String packageName,
+
+            @Parameter(description = "Whether calls in the package are timed", required = true)
+            @RequestParam boolean enabled) {
+
+        timingSwitch.setEnabled(packageName, enabled);
+        return ResponseHandler.createBuildResponse("Timing settings updated successfully", settings(), HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Update the timing log sample rate (Admin only)",
+            description = "Share of timed calls, between 0 and 1, that also write a log line."
+    )
+    @PatchMapping("/timing/log-sample-rate")
+    public ResponseEntity<ApiResponse<TimingSettingsResponse>> updateLogSampleRate(
+            @Parameter(description = "Sample rate between 0 and 1", required = true)
+            @RequestParam double rate) {
+
+        timingSwitch.setLogSampleRate(rate);
+        return ResponseHandler.createBuildResponse("Timing settings updated successfully", settings(), HttpStatus.OK);
+    }
+
+    private TimingSettingsResponse settings() {
+        return TimingSettingsResponse.builder()
+                .disabledPackages(timingSwitch.getDisabledPackages())
+                .logSampleRate(timingSwitch.getLogSampleRate())
+                .build();
+    }
+}
@@ -3,13 +3,15 @@ package com.exposer.controllers;
 import com.exposer.handler.ResponseHandler;
 import com.exposer.models.dto.request.*;
 import com.exposer.models.dto.response.ApiResponse;
+import com.exposer.models.dto.response.InteractionStateResponse;
 import com.exposer.models.dto.response.PagedResponse;
 import com.exposer.models.dto.response.PostResponse;
 import com.exposer.models.dto.response.admin.AdminPostResponse;
+import com.exposer.security.AuthPrincipal;
+import com.exposer.security.CurrentUser;
 import com.exposer.services.interfaces.PostService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
-import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -20,7 +22,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 
-import static com.exposer.constants.AppConstants.AUTHORIZATION_HEADER;
 import static com.exposer.constants.AppConstants.ONLY_ADMIN;
 
 @RestController
@@ -37,13 +38,7 @@ public class PostController {
     )
     @PostMapping
     ResponseEntity<ApiResponse<PostResponse>> publishPost(
-            @Parameter(
-                    description = "Bearer token for authentication",
-                    required = true,
-                    in = ParameterIn.HEADER,
-                    example = "Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9..."
-            )
-            @RequestHeader(AUTHORIZATION_HEADER) String token,
+            @Parameter(hidden = true) @CurrentUser AuthPrincipal principal,
 
             @Parameter(
                     description = "Post creation data",
@@ -52,7 +47,7 @@ public class PostController {
             )
             @Valid @RequestBody CreatePostRequest request) {
 
-        PostResponse post = postService.addPost(token, request);
+        PostResponse post = postService.addPost(principal, request);
         return ResponseHandler.createBuildResponse("Post published successfully", post, HttpStatus.CREATED);
     }
 
@@ -62,13 +57,7 @@ public class PostController {
     )
     @PatchMapping("/{postId}")
     ResponseEntity<ApiResponse<PostResponse>> editPost(
-            @Parameter(
-                    description = "Bearer token for authentication",
-                    required = true,
-                    in = ParameterIn.HEADER,
-                    example = "Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9..."
-            )
-            @RequestHeader(AUTHORIZATION_HEADER) String token,
+            @Parameter(hidden = true) @CurrentUser AuthPrincipal principal,
 
             @Parameter(
                     description = "ID of the post to edit",
@@ -83,7 +72,7 @@ public class PostController {
             )
             @Valid @RequestBody EditPostRequest request) {
 
-        PostResponse post = postService.editPost(token, postId, request);
+        PostResponse post = postService.editPost(principal, postId, request);
         return ResponseHandler.createBuildResponse("Post edited successfully", post, HttpStatus.OK);
     }
 
@@ -93,13 +82,7 @@ public class PostController {
     )
     @PatchMapping()
     ResponseEntity<ApiResponse<PostResponse>> updatePostStatus(
-            @Parameter(
-                    description = "Bearer token for authentication",
-                    required = true,
-                    in = ParameterIn.HEADER,
-                    example = "Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9..."
-            )
-            @RequestHeader(AUTHORIZATION_HEADER) String token,
+            @Parameter(hidden = true) @CurrentUser AuthPrincipal principal,
 
             @Parameter(
                     description = "Post status update data",
@@ -108,7 +91,7 @@ public class PostController {
             )
             @Valid @RequestBody UpdatePostStatusRequest request) {
 
-        PostResponse post = postService.updatePostStatus(token, request);
+        PostResponse post = postService.updatePostStatus(principal, request);
         return ResponseHandler.createBuildResponse("Post updated successfully", post, HttpStatus.OK);
     }
 
@@ -157,13 +140,7 @@ public class PostController {
     )
     @GetMapping("/")
     ResponseEntity<ApiResponse<PagedResponse<PostResponse>>> getMyPost(
-            @Parameter(
-                    description = "Bearer token for authentication",
-                    required = true,
-                    in = ParameterIn.HEADER,
-                    example = "Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9..."
-            )
-            @RequestHeader(AUTHORIZATION_HEADER) String token,
+            @Parameter(hidden = true) @CurrentUser AuthPrincipal principal,
 
             @Parameter(
                     description = "Pagination parameters",
@@ -171,7 +148,7 @@ public class PostController {
             )
             @Valid @ModelAttribute PaginationRequest paginationRequest) {
 
-        PagedResponse<PostResponse> posts = postService.myPost(token, paginationRequest);
+        PagedResponse<PostResponse> posts = postService.myPost(principal, paginationRequest);
 
         if (posts.getContent().isEmpty()) {
             return ResponseHandler.createBuildResponse("Post not found.", posts, HttpStatus.NOT_FOUND);
@@ -179,4 +156,22 @@ public class PostController {
 
         return ResponseHandler.createBuildResponse("Posts retrieved successfully", posts, HttpStatus.OK);
     }
-}
\ No newline at end of file
+
+    @Operation(
+            summary = "Get my like and save state",
+            description = "Tells which of the given posts or comments the currently authenticated user has liked or saved."
+    )
+    @GetMapping("/interactions")
+    ResponseEntity<ApiResponse<InteractionStateResponse>> getInteractionState(
+            @Parameter(hidden = true) @CurrentUser AuthPrincipal principal,
+
+            @Parameter(
+                    description = "Target ids, at most 100",
+                    schema = @Schema(implementation = InteractionStateRequest.class)
+            )
+            @Valid @ModelAttribute InteractionStateRequest request) {
+
+        InteractionStateResponse state = postService.getInteractionState(principal, request);
+        return ResponseHandler.createBuildResponse("Interaction state retrieved successfully", state, HttpStatus.OK);
+    }
+}
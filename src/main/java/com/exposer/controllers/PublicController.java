@@ -5,6 +5,7 @@ import com.exposer.models.dto.request.PaginationRequest;
 import com.exposer.models.dto.request.PostSearchRequest;
 import com.exposer.models.dto.request.PostSearchResult;
 import com.exposer.models.dto.response.*;
+import com.exposer.models.entity.enums.LikeType;
 import com.exposer.services.interfaces.CommentService;
 import com.exposer.services.interfaces.LikeService;
 import com.exposer.services.interfaces.PostService;
@@ -21,6 +22,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 
 @RestController
 @RequiredArgsConstructor
@@ -157,6 +160,17 @@ public class PublicController {
         return ResponseHandler.createBuildResponse("Like retrieved successfully", likes, HttpStatus.OK);
     }
 
+    @Operation(
+            summary = "Get reaction counts by target ID",
+            description = "Retrieves the number of likes per reaction type for a specific post or comment"
+    )
+    @GetMapping("/like/{targetId}/reactions")
+    ResponseEntity<ApiResponse<Map<LikeType, Long>>> getReactionCounts(@PathVariable String targetId) {
+
+        Map<LikeType, Long> reactions = likeService.getReactionCounts(targetId);
+        return ResponseHandler.createBuildResponse("Reaction counts retrieved successfully", reactions, HttpStatus.OK);
+    }
+
     @Operation(
             summary = "Get comments by post ID",
             description = "Retrieves all comments for a specific post"
@@ -6,10 +6,11 @@ import com.exposer.models.dto.request.SavedPostRequest;
 import com.exposer.models.dto.response.ApiResponse;
 import com.exposer.models.dto.response.PagedResponse;
 import com.exposer.models.dto.response.SavedPostResponse;
+import com.exposer.security.AuthPrincipal;
+import com.exposer.security.CurrentUser;
 import com.exposer.services.interfaces.SavedPostService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
-import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -20,7 +21,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 
-import static com.exposer.constants.AppConstants.AUTHORIZATION_HEADER;
 import static com.exposer.constants.AppConstants.ONLY_ADMIN;
 
 @RestController
@@ -37,13 +37,7 @@ public class SavedPostController {
     )
     @PostMapping
     ResponseEntity<ApiResponse<SavedPostResponse>> savePost(
-            @Parameter(
-                    description = "Bearer token for authentication",
-                    required = true,
-                    in = ParameterIn.HEADER,
-                    example = "Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9..."
-            )
-            @RequestHeader(AUTHORIZATION_HEADER) String token,
+            @Parameter(hidden = true) @CurrentUser AuthPrincipal principal,
 
             @Parameter(
                     description = "Post to save",
@@ -52,7 +46,7 @@ public class SavedPostController {
             )
             @Valid @RequestBody SavedPostRequest request) {
 
-        SavedPostResponse post = savedPostService.savePost(token, request);
+        SavedPostResponse post = savedPostService.savePost(principal, request);
         return ResponseHandler.createBuildResponse("Post saved successfully", post, HttpStatus.CREATED);
     }
 
@@ -62,13 +56,7 @@ public class SavedPostController {
     )
     @DeleteMapping("/{savedPostId}")
     ResponseEntity<ApiResponse<Void>> removeSavedPost(
-            @Parameter(
-                    description = "Bearer token for authentication",
-                    required = true,
-                    in = ParameterIn.HEADER,
-                    example = "Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9..."
-            )
-            @RequestHeader(AUTHORIZATION_HEADER) String token,
+            @Parameter(hidden = true) @CurrentUser AuthPrincipal principal,
 
             @Parameter(
                     description = "ID of the saved post entry to remove",
@@ -76,7 +64,7 @@ public class SavedPostController {
             )
             @PathVariable String savedPostId) {
 
-        savedPostService.removeSavedPost(token, savedPostId);
+        savedPostService.removeSavedPost(principal, savedPostId);
         return ResponseHandler.createBuildResponseMessage(
                 "Post removed successfully from saved post history",
                 HttpStatus.OK
@@ -118,13 +106,7 @@ public class SavedPostController {
     )
     @GetMapping("/my")
     ResponseEntity<ApiResponse<PagedResponse<SavedPostResponse>>> getMySavedPost(
-            @Parameter(
-                    description = "Bearer token for authentication",
-                    required = true,
-                    in = ParameterIn.HEADER,
-                    example = "Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9..."
-            )
-            @RequestHeader(AUTHORIZATION_HEADER) String token,
+            @Parameter(hidden = true) @CurrentUser AuthPrincipal principal,
 
             @Parameter(
                     description = "Pagination parameters",
@@ -132,7 +114,7 @@ public class SavedPostController {
             )
             @Valid @ModelAttribute PaginationRequest request) {
 
-        PagedResponse<SavedPostResponse> allSavedPosts = savedPostService.mySavedPost(token, request);
+        PagedResponse<SavedPostResponse> allSavedPosts = savedPostService.mySavedPost(principal, request);
         if (allSavedPosts.getContent().isEmpty()) {
             return ResponseHandler.createBuildResponse(
                     "You currently don't have any saved posts available",
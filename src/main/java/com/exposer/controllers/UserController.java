@@ -7,10 +7,11 @@ import com.exposer.models.dto.response.ApiResponse;
 import com.exposer.models.dto.response.PagedResponse;
 import com.exposer.models.dto.response.UserResponse;
 import com.exposer.models.dto.response.admin.AdminUserResponse;
+import com.exposer.security.AuthPrincipal;
+import com.exposer.security.CurrentUser;
 import com.exposer.services.interfaces.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
-import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -23,7 +24,6 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 
-import static com.exposer.constants.AppConstants.AUTHORIZATION_HEADER;
 import static com.exposer.constants.AppConstants.ONLY_ADMIN;
 
 @RestController
@@ -41,15 +41,9 @@ public class UserController {
     )
     @GetMapping()
     public ResponseEntity<ApiResponse<UserResponse>> getProfile(
-            @Parameter(
-                    description = "Bearer token for authentication",
-                    required = true,
-                    in = ParameterIn.HEADER,
-                    example = "Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9..."
-            )
-            @RequestHeader(AUTHORIZATION_HEADER) String token) {
+            @Parameter(hidden = true) @CurrentUser AuthPrincipal principal) {
 
-        UserResponse response = userService.getProfile(token);
+        UserResponse response = userService.getProfile(principal);
         return ResponseHandler.createBuildResponse("Your profile retrieved successfully", response, HttpStatus.OK);
     }
 
@@ -76,13 +70,7 @@ public class UserController {
     )
     @PatchMapping
     public ResponseEntity<ApiResponse<UserResponse>> updateProfile(
-            @Parameter(
-                    description = "Bearer token for authentication",
-                    required = true,
-                    in = ParameterIn.HEADER,
-                    example = "Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9..."
-            )
-            @RequestHeader(AUTHORIZATION_HEADER) String token,
+            @Parameter(hidden = true) @CurrentUser AuthPrincipal principal,
 
             @Parameter(
                     description = "Profile update data",
@@ -91,7 +79,7 @@ public class UserController {
             )
             @Valid @RequestBody ProfileUpdateRequest request) {
 
-        UserResponse response = userService.updateProfile(token, request);
+        UserResponse response = userService.updateProfile(principal, request);
         return ResponseHandler.createBuildResponse("Profile updated successfully", response, HttpStatus.OK);
     }
 
@@ -0,0 +1,105 @@
+package com.exposer.dao.implementation;
+
+import com.exposer.dao.interfaces.AuthorSnapshotDao;
+import com.exposer.dao.interfaces.RedisCacheService;
+import com.exposer.models.entity.AbstractEntity;
+import com.exposer.models.entity.AuthorSnapshot;
+import com.exposer.models.entity.Comment;
+import com.exposer.models.entity.Post;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static com.exposer.constants.RedisConstants.COMMENT_CACHE_PREFIX;
+import static com.exposer.constants.RedisConstants.POST_CACHE_PREFIX;
+
+/**
+ * @implNote Documents are walked by {@code _id} in chunks and each chunk is rewritten with one
+ * {@code updateMany} on its ids, so a prolific author never turns into one long-running write.
+ * Cached copies of the rewritten documents are evicted chunk by chunk, and the comment pages of
+ * every post with a rewritten comment are invalidated once at the end.
+ * <p>
+ * Fan-outs run asynchronously and can finish out of order, so a document is only rewritten when
+ * its snapshot is older than the new one.</p>
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+class AuthorSnapshotDaoImpl implements AuthorSnapshotDao {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final RedisCacheService redisCacheService;
+
+    @Override
+    public long updateSnapshot(AuthorSnapshot snapshot) {
+
+        long posts = update(snapshot, "author", Post.class, _ -> {});
+
+        Set<String> commentedPosts = new HashSet<>();
+        long comments = update(snapshot, "user", Comment.class, comment -> commentedPosts.add(((Comment) comment).getPostId()));
+
+        // Author's post pages and the comment pages of the posts they commented on are cached with the old snapshot
+        redisCacheService.incrementPaginationVersion(snapshot.getId(), POST_CACHE_PREFIX);
+        commentedPosts.forEach(postId -> redisCacheService.incrementPaginationVersion(postId, COMMENT_CACHE_PREFIX));
+
+        log.info("Author snapshot of user {} updated on {} posts and {} comments", snapshot.getId(), posts, comments);
+        return posts + comments;
+    }
+
+    /**
+     * @param rewritten called with every document of a rewritten chunk
+     */
+    private long update(AuthorSnapshot snapshot, String referenceField, Class<? extends AbstractEntity> type,
+                        Consumer<AbstractEntity> rewritten) {
+
+        Criteria byAuthor = Criteria.where(referenceField + ".$id").is(new ObjectId(snapshot.getId()));
+        Update update = Update.update("authorSnapshot", snapshot);
+
+        Criteria olderSnapshot = snapshot.getUpdatedAt() == null
+                ? new Criteria()
+                : new Criteria().orOperator(
+                        Criteria.where("authorSnapshot.updatedAt").exists(false),
+                        Criteria.where("authorSnapshot.updatedAt").lt(snapshot.getUpdatedAt()));
+
+        long updated = 0;
+        String lastId = null;
+
+        while (true) {
+            Query chunkQuery = new Query(byAuthor);
+            if (lastId != null) chunkQuery.addCriteria(Criteria.where("id").gt(new ObjectId(lastId)));
+            chunkQuery.with(Sort.by(Sort.Direction.ASC, "id")).limit(CHUNK_SIZE);
+            chunkQuery.fields().include("id", "postId");
+
+            List<? extends AbstractEntity> chunk = mongoTemplate.find(chunkQuery, type);
+            List<String> ids = chunk.stream().map(AbstractEntity::getId).toList();
+            if (ids.isEmpty()) break;
+
+            Query rewrite = Query.query(new Criteria().andOperator(Criteria.where("id").in(ids), olderSnapshot));
+            long modified = mongoTemplate.updateMulti(rewrite, update, type).getModifiedCount();
+
+            if (modified > 0) {
+                updated += modified;
+                ids.forEach(id -> redisCacheService.deleteById(id, type));
+                chunk.forEach(rewritten);
+            }
+
+            if (ids.size() < CHUNK_SIZE) break;
+            lastId = ids.getLast();
+        }
+
+        return updated;
+    }
+}
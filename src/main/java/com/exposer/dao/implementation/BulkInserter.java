@@ -0,0 +1,84 @@
+package com.exposer.dao.implementation;
+
+import com.exposer.models.dto.BulkInsertResult;
+import com.exposer.models.entity.AbstractEntity;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Inserts entities with unordered bulks of {@code bulk.batch-size} documents.
+ *
+ * @implNote Ids are assigned before the insert so callers can tell which entities were written. A failed
+ * document does not stop the rest of its batch; its index is reported with the reason.
+ * <p>
+ * An entity with an id is not new to the auditing handler, so the audit fields are filled here. A
+ * {@code createdBy} set by the caller is kept, otherwise the current auditor is used.
+ */
+@Slf4j
+@Component
+class BulkInserter {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final AuditorAware<String> auditorAware;
+    private final int batchSize;
+
+    BulkInserter(MongoTemplate mongoTemplate,
+                 AuditorAware<String> auditorAware,
+                 @Value("${bulk.batch-size:1000}") int batchSize) {
+
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("bulk.batch-size must be positive");
+        }
+
+        this.mongoTemplate = mongoTemplate;
+        this.auditorAware = auditorAware;
+        this.batchSize = batchSize;
+    }
+
+    <T extends AbstractEntity> BulkInsertResult insert(List<T> entities, Class<T> type) {
+
+        Instant now = Instant.now();
+        String auditor = auditorAware.getCurrentAuditor().orElse("system");
+
+        for (T entity : entities) {
+            if (entity.getId() == null) entity.setId(new ObjectId().toHexString());
+            if (entity.getCreatedAt() == null) entity.setCreatedAt(now);
+            if (entity.getCreatedBy() == null) entity.setCreatedBy(auditor);
+            entity.setUpdatedAt(entity.getCreatedAt());
+            entity.setUpdatedBy(entity.getCreatedBy());
+        }
+
+        Map<Integer, String> errors = new TreeMap<>();
+
+        for (int from = 0; from < entities.size(); from += batchSize) {
+            List<T> batch = entities.subList(from, Math.min(from + batchSize, entities.size()));
+
+            try {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type).insert(batch).execute();
+            } catch (BulkOperationException e) {
+                for (BulkWriteError error : e.getErrors()) {
+                    errors.put(from + error.getIndex(), error.getCode() == DUPLICATE_KEY ? "Already exists" : error.getMessage());
+                }
+            } catch (RuntimeException e) {
+                log.error("Bulk insert of {} {} documents failed: {}", batch.size(), type.getSimpleName(), e.getMessage());
+                for (int i = 0; i < batch.size(); i++) errors.put(from + i, "Insert failed");
+            }
+        }
+
+        return new BulkInsertResult(entities.size() - errors.size(), errors);
+    }
+}
@@ -0,0 +1,155 @@
+package com.exposer.dao.implementation;
+
+import com.exposer.dao.interfaces.CacheCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.type.TypeReference;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Frames cached values as one header byte followed by the codec output.
+ *
+ * @implNote <p>
+ * The low four bits of the header hold the {@link CacheCodec#id()}, bit {@code 0x10} marks a deflated body.
+ * Reads go by the header, not by {@code cache.codec}, so switching codecs never strands existing entries.
+ * Values written before the header existed start with a JSON token and are read as plain JSON.</p>
+ * <p>
+ * Bodies of at least {@code cache.compression.threshold} bytes are deflated at the fastest level and
+ * kept compressed only when that is actually smaller.</p>
+ */
+@Slf4j
+@Component
+class CacheValueCodec {
+
+    private static final int CODEC_MASK = 0x0F;
+    private static final int COMPRESSED = 0x10;
+
+    private final CacheCodec[] codecsById = new CacheCodec[CODEC_MASK + 1];
+    private final CacheCodec writeCodec;
+    private final CacheCodec legacyCodec;
+    private final int compressionThreshold;
+
+    CacheValueCodec(List<CacheCodec> codecs,
+                    @Value("${cache.codec:json}") String codecName,
+                    @Value("${cache.compression.threshold:2048}") int compressionThreshold) {
+
+        for (CacheCodec codec : codecs) {
+            if (codec.id() < 1 || codec.id() > CODEC_MASK || codecsById[codec.id()] != null) {
+                throw new IllegalStateException("Invalid or duplicate cache codec id " + codec.id() + " for " + codec.name());
+            }
+            codecsById[codec.id()] = codec;
+        }
+
+        this.writeCodec = find(codecs, codecName);
+        this.legacyCodec = find(codecs, "json");
+        this.compressionThreshold = compressionThreshold;
+
+        log.info("Cache values are written with the {} codec, compressed from {} bytes", codecName, compressionThreshold);
+    }
+
+    byte[] encode(Object value) {
+
+        byte[] body = writeCodec.encode(value);
+        int header = writeCodec.id();
+
+        if (compressionThreshold > 0 && body.length >= compressionThreshold) {
+            byte[] deflated = deflate(body);
+            if (deflated.length < body.length) {
+                body = deflated;
+                header |= COMPRESSED;
+            }
+        }
+
+        byte[] framed = new byte[body.length + 1];
+        framed[0] = (byte) header;
+        System.arraycopy(body, 0, framed, 1, body.length);
+        return framed;
+    }
+
+    <T> T decode(byte[] value, Class<T> type) {
+        return decode(value, (codec, body) -> codec.decode(body, type));
+    }
+
+    <T> T decode(byte[] value, TypeReference<T> type) {
+        return decode(value, (codec, body) -> codec.decode(body, type));
+    }
+
+    private <T> T decode(byte[] value, BiFunction<CacheCodec, byte[], T> reader) {
+
+        if (value == null || value.length == 0) return null;
+
+        int header = value[0] & 0xFF;
+
+        if (header == '{' || header == '[' || header == '"') {
+            return reader.apply(legacyCodec, value);
+        }
+
+        CacheCodec codec = codecsById[header & CODEC_MASK];
+        if (codec == null) {
+            throw new IllegalStateException("Unknown cache codec id " + (header & CODEC_MASK));
+        }
+
+        byte[] body = Arrays.copyOfRange(value, 1, value.length);
+        if ((header & COMPRESSED) != 0) {
+            body = inflate(body);
+        }
+
+        return reader.apply(codec, body);
+    }
+
+    private static CacheCodec find(List<CacheCodec> codecs, String name) {
+        return codecs.stream()
+                .filter(codec -> codec.name().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported cache codec: " + name));
+    }
+
+    private static byte[] deflate(byte[] input) {
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 2);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input) {
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 3);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int read = inflater.inflate(buffer);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated compressed cache value");
+                }
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupted compressed cache value", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
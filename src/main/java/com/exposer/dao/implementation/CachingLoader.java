@@ -0,0 +1,162 @@
+package com.exposer.dao.implementation;
+
+import com.exposer.dao.interfaces.RedisCacheService;
+import com.exposer.models.entity.AbstractEntity;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.exposer.constants.RedisConstants.GLOBAL_REDIS_TTL;
+import static com.exposer.constants.RedisConstants.REDIS_DEFAULT_TTL;
+
+/**
+ * Read-through access to the entity cache for the DAOs.
+ *
+ * @implNote <ol>
+ *   <li>A hit is returned as-is, nothing is written back to Redis.</li>
+ *   <li>A miss loads from Mongo and populates the cache. Concurrent misses for the same key
+ *   share a single load, see {@link RedisCacheService#singleFlight}.</li>
+ *   <li>The entry generation is read before every load and the loaded value is dropped if a put or
+ *   delete happened meanwhile, a value read before a save is never stored after its eviction.</li>
+ *   <li>Entries loaded by this node are refreshed in the background once 80% of their TTL
+ *   has passed, so hot keys are reloaded before they expire.</li>
+ *   <li>Batch loads read every id in one round trip and load only the misses, with one query.
+ *   They skip single-flight and refresh-ahead.</li>
+ * </ol>
+ */
+@Slf4j
+@Component
+class CachingLoader {
+
+    private static final double REFRESH_AHEAD_RATIO = 0.8;
+
+    private final RedisCacheService redisCacheService;
+    private final Executor taskExecutor;
+
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final Cache<String, Instant> refreshDeadlines = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(GLOBAL_REDIS_TTL)
+            .build();
+
+    CachingLoader(RedisCacheService redisCacheService, Executor taskExecutor) {
+        this.redisCacheService = redisCacheService;
+        this.taskExecutor = taskExecutor;
+    }
+
+    <T> Optional<T> loadById(final String id, final Class<T> clazz, final Duration ttl, final Supplier<Optional<T>> loader) {
+        return load(false, id, clazz, ttl, loader);
+    }
+
+    <T> Optional<T> loadByName(final String name, final Class<T> clazz, final Duration ttl, final Supplier<Optional<T>> loader) {
+        return load(true, name, clazz, ttl, loader);
+    }
+
+    /**
+     * @param loader loads the missing ids, in any order
+     * @return the found entities in the order of {@code ids}, ids found nowhere are left out
+     */
+    <T extends AbstractEntity> List<T> loadAllById(final Collection<String> ids, final Class<T> clazz, final Duration ttl,
+                                                   final Function<Collection<String>, Iterable<T>> loader) {
+
+        if (ids.isEmpty()) return List.of();
+
+        Map<String, T> found = new HashMap<>(redisCacheService.getAllById(ids, clazz));
+
+        Set<String> misses = new LinkedHashSet<>(ids);
+        misses.removeAll(found.keySet());
+
+        if (!misses.isEmpty()) {
+            Map<String, Long> generations = redisCacheService.getGenerationsById(misses, clazz);
+
+            Map<String, T> loaded = new HashMap<>();
+            loader.apply(misses).forEach(entity -> loaded.put(entity.getId(), entity));
+
+            redisCacheService.putAllById(loaded, generations, ttl);
+            found.putAll(loaded);
+        }
+
+        return ids.stream()
+                .distinct()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private <T> Optional<T> load(final boolean byName, final String identifier, final Class<T> clazz,
+                                 final Duration ttl, final Supplier<Optional<T>> loader) {
+
+        String key = (byName ? "name:" : "id:") + clazz.getSimpleName() + ":" + identifier;
+
+        Optional<T> cached = lookup(byName, identifier, clazz);
+        if (cached.isPresent()) {
+            refreshAheadIfDue(key, () -> populate(key, byName, identifier, clazz, ttl, loader));
+            return cached;
+        }
+
+        return redisCacheService.singleFlight(key,
+                () -> lookup(byName, identifier, clazz),
+                () -> populate(key, byName, identifier, clazz, ttl, loader));
+    }
+
+    private <T> Optional<T> lookup(final boolean byName, final String identifier, final Class<T> clazz) {
+        return byName
+                ? redisCacheService.getByName(identifier, clazz)
+                : redisCacheService.getById(identifier, clazz);
+    }
+
+    private <T> Optional<T> populate(final String key, final boolean byName, final String identifier, final Class<T> clazz,
+                                     final Duration ttl, final Supplier<Optional<T>> loader) {
+
+        Duration expiry = (ttl != null && !ttl.isNegative() && !ttl.isZero()) ? ttl : REDIS_DEFAULT_TTL;
+
+        long generation = redisCacheService.getGeneration(identifier, clazz);
+
+        Optional<T> loaded = loader.get();
+        loaded.ifPresent(value -> {
+            if (byName) {
+                redisCacheService.putByNameIfUnchanged(identifier, value, generation, expiry);
+            } else {
+                redisCacheService.putByIdIfUnchanged(identifier, value, generation, expiry);
+            }
+            refreshDeadlines.put(key, Instant.now().plusMillis((long) (expiry.toMillis() * REFRESH_AHEAD_RATIO)));
+        });
+
+        return loaded;
+    }
+
+    private void refreshAheadIfDue(final String key, final Runnable refresh) {
+
+        Instant deadline = refreshDeadlines.getIfPresent(key);
+        if (deadline == null || Instant.now().isBefore(deadline) || !refreshing.add(key)) {
+            return;
+        }
+
+        refreshDeadlines.invalidate(key);
+
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    refresh.run();
+                } catch (RuntimeException e) {
+                    log.warn("Refresh-ahead failed for key {}: {}", key, e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+            log.debug("Refresh-ahead skipped for key {}: executor is saturated", key);
+        }
+    }
+}
@@ -2,18 +2,35 @@ package com.exposer.dao.implementation;
 
 import com.exposer.dao.interfaces.CommentDao;
 import com.exposer.dao.interfaces.RedisCacheService;
+import com.exposer.dao.interfaces.StatsDao;
 import com.exposer.dao.repository.CommentRepository;
+import com.exposer.models.dto.BulkInsertResult;
+import com.exposer.models.dto.VersionedPage;
 import com.exposer.models.dto.request.PaginationRequest;
+import com.exposer.models.dto.response.CommentResponse;
+import com.exposer.models.dto.response.PagedResponse;
 import com.exposer.models.entity.Comment;
+import com.exposer.models.entity.enums.LikeType;
 import com.exposer.utils.CommonUtil;
+import com.exposer.utils.mapper.CommentMapper;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
+import tools.jackson.core.type.TypeReference;
 
 import java.time.Duration;
-import java.util.List;
-import java.util.Optional;
+import java.time.Instant;
+import java.util.*;
+
+import static com.exposer.constants.RedisConstants.COMMENT_CACHE_PREFIX;
+import static com.exposer.dao.implementation.StatsCounterBuffer.COMMENT_REPLY_COUNT;
 
 
 @Repository
@@ -22,17 +39,28 @@ class CommentDaoImpl implements CommentDao {
 
     private final CommentRepository commentRepository;
     private final RedisCacheService redisCacheService;
+    private final CachingLoader cachingLoader;
+    private final StatsCounterBuffer statsCounterBuffer;
+    private final StatsDao statsDao;
+    private final KeysetPager keysetPager;
+    private final OffsetPager offsetPager;
+    private final DbRefBatchResolver dbRefBatchResolver;
+    private final BulkInserter bulkInserter;
+    private final MongoTemplate mongoTemplate;
+    private final AuditorAware<String> auditorAware;
 
     @Override
     public Optional<Comment> findById(String id) {
 
-        return redisCacheService.getById(id, Comment.class)
-                .or(() -> commentRepository.findById(id))
-                .map(comment -> {
-                            redisCacheService.putById(id, comment, null);
-                            return comment;
-                        }
-                );
+        return cachingLoader.loadById(id, Comment.class, null, () -> commentRepository.findById(id))
+                .map(statsCounterBuffer::applyPending);
+    }
+
+    @Override
+    public List<Comment> findAllById(Collection<String> ids) {
+        return cachingLoader.loadAllById(ids, Comment.class, null, commentRepository::findAllById).stream()
+                .map(statsCounterBuffer::applyPending)
+                .toList();
     }
 
     @Override
@@ -42,56 +70,111 @@ class CommentDaoImpl implements CommentDao {
 
     @Override
     public void deleteById(String id) {
+        Optional<Comment> comment = commentRepository.findById(id);
+
         commentRepository.deleteById(id);
         redisCacheService.deleteById(id, Comment.class);
+        comment.ifPresent(deleted -> redisCacheService.incrementPaginationVersion(deleted.getPostId(), COMMENT_CACHE_PREFIX));
     }
 
     @Override
     public Comment save(Comment comment) {
         Comment saved = commentRepository.save(comment);
+        redisCacheService.deleteById(saved.getId(), Comment.class);
 
-        // if any comment added, then increment version post comments cache
-        redisCacheService.incrementPaginationVersion(saved.getPostId(), "1");
+        // Add, reply, edit and soft delete all go through here, drop the cached pages of the post
+        redisCacheService.incrementPaginationVersion(saved.getPostId(), COMMENT_CACHE_PREFIX);
         return saved;
 
     }
 
     @Override
-    public Page<Comment> findAll(PaginationRequest request) {
+    public Optional<Comment> updateDetails(Comment comment) {
+
+        Update update = new Update()
+                .set("description", comment.getDescription())
+                .set("isEdited", comment.isEdited())
+                .set("isDeleted", comment.isDeleted())
+                .set("updatedAt", Instant.now())
+                .set("updatedBy", auditorAware.getCurrentAuditor().orElse("system"));
+
+        Comment updated = mongoTemplate.findAndModify(new Query(Criteria.where("_id").is(comment.getId())), update,
+                FindAndModifyOptions.options().returnNew(true), Comment.class);
+        if (updated == null) return Optional.empty();
+
+        redisCacheService.deleteById(updated.getId(), Comment.class);
+        redisCacheService.incrementPaginationVersion(updated.getPostId(), COMMENT_CACHE_PREFIX);
+        return Optional.of(statsCounterBuffer.applyPending(updated));
+    }
 
-        Pageable pageable = CommonUtil.toBuildSortAndPage(request);
+    @Override
+    public BulkInsertResult insertAll(List<Comment> comments) {
+
+        BulkInsertResult result = bulkInserter.insert(comments, Comment.class);
+
+        Set<String> postIds = new HashSet<>();
+        for (int i = 0; i < comments.size(); i++) {
+            if (!result.errors().containsKey(i)) postIds.add(comments.get(i).getPostId());
+        }
 
-        return commentRepository.findAll(pageable);
+        postIds.forEach(postId -> redisCacheService.incrementPaginationVersion(postId, COMMENT_CACHE_PREFIX));
+        return result;
     }
 
     @Override
-    public Page<Comment> findByPostId(String postId, PaginationRequest request) {
+    public Slice<Comment> findAll(PaginationRequest request) {
 
-        Pageable pageable = CommonUtil.toBuildSortAndPage(request);
+        if (CommonUtil.isCursorRequest(request)) {
+            return dbRefBatchResolver.withUsers(keysetPager.find(null, request, Comment.class));
+        }
 
-        Page<Comment> comments = commentRepository.findByPostId(postId, pageable);
+        return dbRefBatchResolver.withUsers(offsetPager.find(null, request, Comment.class));
+    }
+
+    @Override
+    public PagedResponse<CommentResponse> findByPostId(String postId, PaginationRequest request) {
+
+        Criteria criteria = Criteria.where("postId").is(postId);
+
+        // Cursor pages are not cached, the cache key is built from the page number
+        if (CommonUtil.isCursorRequest(request)) {
+            return CommonUtil.buildPagedResponse(dbRefBatchResolver.withUsers(keysetPager.find(criteria, request, Comment.class)), CommentMapper::toCommentResponse);
+        }
+
+        VersionedPage<PagedResponse<CommentResponse>> cached = redisCacheService.getByPagination(postId, request, COMMENT_CACHE_PREFIX, new TypeReference<>() {
+        });
+
+        if (cached.isHit() && !cached.data().getContent().isEmpty()) return cached.data();
+
+        Slice<Comment> page = dbRefBatchResolver.withUsers(offsetPager.find(criteria, request, Comment.class));
+
+        PagedResponse<CommentResponse> comments = CommonUtil.buildPagedResponse(page, CommentMapper::toCommentResponse);
+        redisCacheService.putByPagination(postId, request, COMMENT_CACHE_PREFIX, cached.version(), comments, Duration.ofMinutes(5));
 
-        redisCacheService.putById(postId, comments.getContent(), Duration.ofMinutes(5));
         return comments;
     }
 
     @Override
-    public Page<Comment> findByUserId(String userId, PaginationRequest request) {
+    public Slice<Comment> findByUserId(String userId, PaginationRequest request) {
 
-        Pageable pageable = CommonUtil.toBuildSortAndPage(request);
+        if (CommonUtil.isCursorRequest(request)) {
+            return dbRefBatchResolver.withUsers(keysetPager.find(Criteria.where("user.$id").is(new ObjectId(userId)), request, Comment.class));
+        }
 
-        return commentRepository.findByUserId(userId, pageable);
+        return dbRefBatchResolver.withUsers(offsetPager.find(Criteria.where("user.$id").is(new ObjectId(userId)), request, Comment.class));
     }
 
     /**
      * Return all replies except parent comment
      */
     @Override
-    public Page<Comment> findRepliesByComment(String parentCommentId, PaginationRequest request) {
+    public Slice<Comment> findRepliesByComment(String parentCommentId, PaginationRequest request) {
 
-        Pageable pageable = CommonUtil.toBuildSortAndPage(request);
+        if (CommonUtil.isCursorRequest(request)) {
+            return dbRefBatchResolver.withUsers(keysetPager.find(Criteria.where("parentCommentId").is(parentCommentId), request, Comment.class));
+        }
 
-        return commentRepository.findByParentCommentId(parentCommentId, pageable);
+        return dbRefBatchResolver.withUsers(offsetPager.find(Criteria.where("parentCommentId").is(parentCommentId), request, Comment.class));
     }
 
     /**
@@ -100,23 +183,34 @@ class CommentDaoImpl implements CommentDao {
     @Override
     public List<Comment> findRepliesByCommentId(String parentCommentId) {
 
-        return commentRepository.findByParentCommentId(parentCommentId);
+        List<Comment> replies = commentRepository.findByParentCommentId(parentCommentId);
+        dbRefBatchResolver.withUsers(replies);
+        return replies;
     }
 
     @Override
     public void increaseReplyCount(String commentId) {
 
-        commentRepository.incrementReplyCount(commentId);
+        statsCounterBuffer.incrementComment(commentId, COMMENT_REPLY_COUNT, 1);
+    }
+
+    @Override
+    public void incrementLikeCount(String commentId, LikeType likeType) {
+        statsCounterBuffer.incrementCommentLike(commentId, likeType, 1);
+        if (likeType != null) statsDao.recordReaction(commentId, likeType, 1);
     }
 
     @Override
-    public void incrementLikeCount(String commentId) {
-        commentRepository.incrementLikeCount(commentId);
+    public void decrementLikeCount(String commentId, LikeType likeType) {
+        statsCounterBuffer.incrementCommentLike(commentId, likeType, -1);
+        if (likeType != null) statsDao.recordReaction(commentId, likeType, -1);
     }
 
     @Override
-    public void decrementLikeCount(String commentId) {
-        commentRepository.decrementLikeCount(commentId);
+    public void incrementLikeCounts(Map<String, Map<LikeType, Long>> likesByComment) {
+        likesByComment.forEach((commentId, likes) ->
+                likes.forEach((likeType, count) -> statsCounterBuffer.incrementCommentLike(commentId, likeType, count)));
+        statsDao.recordReactions(likesByComment);
     }
 
 
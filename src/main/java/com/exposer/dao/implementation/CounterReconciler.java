@@ -0,0 +1,312 @@
+package com.exposer.dao.implementation;
+
+import com.exposer.dao.interfaces.RedisCacheService;
+import com.exposer.models.entity.Comment;
+import com.exposer.models.entity.Like;
+import com.exposer.models.entity.Post;
+import com.exposer.models.entity.SavedPost;
+import com.exposer.models.entity.enums.TargetType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import static com.exposer.constants.RedisConstants.STATS_FLUSH_ACK_PREFIX;
+import static com.exposer.constants.RedisConstants.STATS_FLUSH_CHANNEL;
+import static com.exposer.dao.implementation.StatsCounterBuffer.*;
+
+/**
+ * Recomputes the post and comment counters from the {@code likes}, {@code comments} and {@code saved_posts}
+ * collections and repairs the documents that drifted.
+ *
+ * @implNote <ol>
+ *   <li>Posts and comments are walked by {@code _id} in chunks. Each chunk costs one {@code $group} per
+ *   source collection restricted to the chunk's ids, and the drifted documents are repaired with one
+ *   unordered bulk.</li>
+ *   <li>Deltas buffered on other nodes would be flushed on top of a repaired counter, so every node is asked
+ *   to flush on {@code stats:flush} first and the run is skipped unless all of them acknowledge. During the
+ *   walk, documents with a like, comment or save created within two flush intervals are left alone, their
+ *   deltas may still be buffered somewhere. Unlikes and removals leave no such trace: one landing on another
+ *   node during the walk can still be applied twice, until the next run.</li>
+ *   <li>A repair is a compare-and-set on the values read, so a counter flushed meanwhile is left for the
+ *   next run. Deltas still buffered on this node are subtracted from the true count.</li>
+ *   <li>The walk is paced to {@code stats.reconcile.max-ops-per-second}, counting documents read and written
+ *   and queries issued.</li>
+ * </ol>
+ */
+@Slf4j
+@Component
+class CounterReconciler {
+
+    private static final String LOCK_KEY = "stats:reconcile-lock";
+    private static final Duration LOCK_TTL = Duration.ofHours(2);
+    private static final String DRIFT_METRIC = "exposer.stats.drift";
+    private static final Duration FLUSH_ACK_TIMEOUT = Duration.ofSeconds(30);
+
+    private final MongoTemplate mongoTemplate;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisCacheService redisCacheService;
+    private final RedisLocks redisLocks;
+    private final StatsCounterBuffer statsCounterBuffer;
+    private final MeterRegistry meterRegistry;
+    private final int chunkSize;
+    private final int maxOpsPerSecond;
+    private final Duration flushInterval;
+
+    private final Map<String, Counter> driftedDocuments = new HashMap<>();
+    private final Map<String, DistributionSummary> driftAmounts = new HashMap<>();
+
+    private long nextSlotNanos;
+
+    CounterReconciler(MongoTemplate mongoTemplate,
+                      RedisTemplate<String, String> redisTemplate,
+                      RedisCacheService redisCacheService,
+                      RedisLocks redisLocks,
+                      StatsCounterBuffer statsCounterBuffer,
+                      MeterRegistry meterRegistry,
+                      @Value("${stats.reconcile.chunk-size:500}") int chunkSize,
+                      @Value("${stats.reconcile.max-ops-per-second:2000}") int maxOpsPerSecond,
+                      @Value("${stats.flush-interval:5s}") Duration flushInterval) {
+
+        if (chunkSize < 1 || maxOpsPerSecond < 1) {
+            throw new IllegalArgumentException("stats.reconcile.chunk-size and max-ops-per-second must be positive");
+        }
+
+        this.mongoTemplate = mongoTemplate;
+        this.redisTemplate = redisTemplate;
+        this.redisCacheService = redisCacheService;
+        this.redisLocks = redisLocks;
+        this.statsCounterBuffer = statsCounterBuffer;
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = chunkSize;
+        this.maxOpsPerSecond = maxOpsPerSecond;
+        this.flushInterval = flushInterval;
+    }
+
+    @Scheduled(cron = "${stats.reconcile.cron:0 0 4 * * *}")
+    void reconcile() {
+
+        Optional<String> lockToken = redisLocks.tryAcquire(LOCK_KEY, LOCK_TTL);
+        if (lockToken.isEmpty()) {
+            log.debug("Counter reconciliation skipped, another node holds the lock");
+            return;
+        }
+
+        try {
+            if (!flushAllNodes()) return;
+            nextSlotNanos = System.nanoTime();
+
+            long posts = walk(Post.class, List.of(POST_LIKE_COUNT, POST_COMMENT_COUNT, POST_SAVE_COUNT), this::truePostCounts,
+                    statsCounterBuffer::pendingPost);
+            long comments = walk(Comment.class, List.of(COMMENT_LIKE_COUNT), this::trueCommentCounts,
+                    statsCounterBuffer::pendingComment);
+
+            log.info("Counter reconciliation repaired {} posts and {} comments", posts, comments);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Counter reconciliation interrupted");
+        } finally {
+            redisLocks.release(LOCK_KEY, lockToken.get());
+        }
+    }
+
+    /**
+     * Asks every node to flush its buffered deltas and waits for all of them to acknowledge.
+     */
+    private boolean flushAllNodes() throws InterruptedException {
+
+        String requestId = UUID.randomUUID().toString();
+        Long receivers = redisTemplate.convertAndSend(STATS_FLUSH_CHANNEL, requestId);
+        long expected = receivers == null ? 0 : receivers;
+
+        long deadline = System.nanoTime() + FLUSH_ACK_TIMEOUT.toNanos();
+        while (true) {
+            String acks = redisTemplate.opsForValue().get(STATS_FLUSH_ACK_PREFIX + requestId);
+            if (acks != null && Long.parseLong(acks) >= expected) return true;
+
+            if (System.nanoTime() > deadline) {
+                log.warn("Counter reconciliation skipped, {} of {} nodes flushed their counters", acks == null ? 0 : acks, expected);
+                return false;
+            }
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+    }
+
+    /**
+     * @param trueCounts recomputes the counters of a chunk, by field then document id, and the documents
+     *                   with recent activity
+     * @return the number of repaired documents
+     */
+    private long walk(Class<?> entity, List<String> fields,
+                      BiFunction<List<String>, List<ObjectId>, ChunkCounts> trueCounts,
+                      BiFunction<String, String, Long> pending) throws InterruptedException {
+
+        String collection = mongoTemplate.getCollectionName(entity);
+        ObjectId lastId = null;
+        long repaired = 0;
+
+        while (true) {
+            Query chunkQuery = lastId == null ? new Query() : new Query(Criteria.where("_id").gt(lastId));
+            chunkQuery.with(Sort.by(Sort.Direction.ASC, "_id")).limit(chunkSize);
+            chunkQuery.fields().include(fields.toArray(String[]::new));
+
+            List<Document> chunk = mongoTemplate.find(chunkQuery, Document.class, collection);
+            if (chunk.isEmpty()) return repaired;
+
+            List<ObjectId> objectIds = chunk.stream().map(document -> document.getObjectId("_id")).toList();
+            List<String> ids = objectIds.stream().map(ObjectId::toHexString).toList();
+            lastId = objectIds.getLast();
+
+            ChunkCounts chunkCounts = trueCounts.apply(ids, objectIds);
+            Map<String, Map<String, Long>> counts = chunkCounts.counts();
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+            List<String> drifted = new ArrayList<>();
+
+            for (Document document : chunk) {
+                String id = document.getObjectId("_id").toHexString();
+                if (chunkCounts.active().contains(id)) continue;
+                Criteria observed = Criteria.where("_id").is(document.getObjectId("_id"));
+                Update update = new Update();
+
+                for (String field : fields) {
+                    Number stored = document.getEmbedded(List.of(field.split("\\.")), Number.class);
+                    long storedValue = stored == null ? 0 : stored.longValue();
+                    long expected = Math.max(0, counts.get(field).getOrDefault(id, 0L) - pending.apply(id, field));
+
+                    observed.and(field).is(stored);
+                    if (storedValue != expected) {
+                        update.set(field, expected);
+                        recordDrift(entity, field, expected - storedValue);
+                    }
+                }
+
+                if (!update.getUpdateObject().isEmpty()) {
+                    bulk.updateOne(new Query(observed), update);
+                    drifted.add(id);
+                }
+            }
+
+            if (!drifted.isEmpty()) {
+                bulk.execute();
+                drifted.forEach(id -> redisCacheService.deleteById(id, entity));
+                repaired += drifted.size();
+            }
+
+            pace(chunk.size() + fields.size() + drifted.size());
+        }
+    }
+
+    private ChunkCounts truePostCounts(List<String> ids, List<ObjectId> objectIds) {
+
+        Map<String, Map<String, Long>> counts = new HashMap<>();
+        Set<String> active = new HashSet<>();
+
+        counts.put(POST_LIKE_COUNT, countBy(Like.class,
+                new Document("targetId", new Document("$in", ids)).append("targetType", TargetType.POST.name()),
+                "$targetId", active));
+
+        // Replies do not count towards the post, as when they are created
+        counts.put(POST_COMMENT_COUNT, countBy(Comment.class,
+                new Document("postId", new Document("$in", ids)).append("parentCommentId", null),
+                "$postId", active));
+
+        // DBRef fields start with '$' and can only be read with $getField inside an expression
+        counts.put(POST_SAVE_COUNT, countBy(SavedPost.class,
+                new Document("post.$id", new Document("$in", objectIds)),
+                new Document("$getField", new Document("field", new Document("$literal", "$id")).append("input", "$post")),
+                active));
+
+        return new ChunkCounts(counts, active);
+    }
+
+    private ChunkCounts trueCommentCounts(List<String> ids, List<ObjectId> objectIds) {
+
+        Set<String> active = new HashSet<>();
+        Map<String, Long> likes = countBy(Like.class,
+                new Document("targetId", new Document("$in", ids)).append("targetType", TargetType.COMMENT.name()),
+                "$targetId", active);
+
+        return new ChunkCounts(Map.of(COMMENT_LIKE_COUNT, likes), active);
+    }
+
+    /**
+     * @param active collects the keys with a source document created within two flush intervals
+     */
+    private Map<String, Long> countBy(Class<?> source, Document match, Object groupKey, Set<String> active) {
+
+        Date activeSince = Date.from(Instant.now().minus(flushInterval.multipliedBy(2)));
+
+        List<Document> pipeline = List.of(
+                new Document("$match", match),
+                new Document("$group", new Document("_id", groupKey)
+                        .append("count", new Document("$sum", 1))
+                        .append("latest", new Document("$max", "$createdAt"))));
+
+        Map<String, Long> counts = new HashMap<>();
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(source)).aggregate(pipeline)
+                .forEach(row -> {
+                    Object key = row.get("_id");
+                    if (key == null) return;
+
+                    counts.put(key.toString(), ((Number) row.get("count")).longValue());
+                    if (row.get("latest") instanceof Date latest && latest.after(activeSince)) active.add(key.toString());
+                });
+        return counts;
+    }
+
+    private void recordDrift(Class<?> entity, String field, long drift) {
+
+        String key = entity.getSimpleName() + ":" + field;
+
+        driftedDocuments.computeIfAbsent(key, _ -> Counter.builder(DRIFT_METRIC + ".documents")
+                        .description("Documents whose counter was repaired by the reconciliation")
+                        .tag("entity", entity.getSimpleName())
+                        .tag("field", field)
+                        .register(meterRegistry))
+                .increment();
+
+        driftAmounts.computeIfAbsent(key, _ -> DistributionSummary.builder(DRIFT_METRIC + ".amount")
+                        .description("Absolute difference between the stored and the recomputed counter")
+                        .tag("entity", entity.getSimpleName())
+                        .tag("field", field)
+                        .register(meterRegistry))
+                .record(Math.abs(drift));
+    }
+
+    private record ChunkCounts(Map<String, Map<String, Long>> counts, Set<String> active) {
+    }
+
+    /**
+     * Spends {@code ops} of the per second budget, sleeping once the walk is ahead of it.
+     */
+    private void pace(long ops) throws InterruptedException {
+
+        nextSlotNanos += ops * TimeUnit.SECONDS.toNanos(1) / maxOpsPerSecond;
+
+        long wait = nextSlotNanos - System.nanoTime();
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        } else {
+            // Do not bank idle time as a burst allowance
+            nextSlotNanos = System.nanoTime();
+        }
+    }
+}
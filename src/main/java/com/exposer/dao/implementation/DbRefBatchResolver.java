@@ -0,0 +1,91 @@
+package com.exposer.dao.implementation;
+
+import com.exposer.models.entity.*;
+import com.mongodb.DBRef;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.LazyLoadingProxy;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Replaces the lazy {@code @DBRef} proxies of a page with entities read from the cache in one round trip,
+ * misses being loaded by one {@code $in} query, so mapping a page of n rows costs at most two queries instead of n + 1.
+ *
+ * @implNote Referenced ids are read from the proxies' {@link DBRef} without resolving them.
+ * References that are already loaded are left untouched, as are posts and comments carrying an
+ * {@link AuthorSnapshot}, which the mappers read instead of the reference.
+ */
+@Component
+@RequiredArgsConstructor
+class DbRefBatchResolver {
+
+    private final MongoTemplate mongoTemplate;
+    private final CachingLoader cachingLoader;
+
+    <S extends Slice<Post>> S withAuthors(S posts) {
+        withAuthors(posts.getContent());
+        return posts;
+    }
+
+    void withAuthors(Collection<Post> posts) {
+        resolve(posts, post -> post.getAuthorSnapshot() == null, Post::getAuthor, Post::setAuthor, User.class);
+    }
+
+    <S extends Slice<Comment>> S withUsers(S comments) {
+        withUsers(comments.getContent());
+        return comments;
+    }
+
+    void withUsers(Collection<Comment> comments) {
+        resolve(comments, comment -> comment.getAuthorSnapshot() == null, Comment::getUser, Comment::setUser, User.class);
+    }
+
+    <S extends Slice<SavedPost>> S withPosts(S savedPosts) {
+        resolve(savedPosts.getContent(), _ -> true, SavedPost::getPost, SavedPost::setPost, Post.class);
+        return savedPosts;
+    }
+
+    private <E, R extends AbstractEntity> void resolve(Collection<E> entities,
+                                                       Predicate<E> needsReference,
+                                                       Function<E, R> getter,
+                                                       BiConsumer<E, R> setter,
+                                                       Class<R> type) {
+
+        Map<E, String> referencedIds = new IdentityHashMap<>();
+        for (E entity : entities) {
+            if (!needsReference.test(entity)) continue;
+
+            String id = unresolvedId(getter.apply(entity));
+            if (id != null) referencedIds.put(entity, id);
+        }
+
+        if (referencedIds.isEmpty()) return;
+
+        Set<String> ids = new HashSet<>(referencedIds.values());
+        Map<String, R> loaded = cachingLoader.loadAllById(ids, type, null,
+                        misses -> mongoTemplate.find(Query.query(Criteria.where("id").in(misses)), type)).stream()
+                .collect(Collectors.toMap(AbstractEntity::getId, Function.identity()));
+
+        // References to deleted documents keep their proxy, as before
+        referencedIds.forEach((entity, id) -> {
+            R reference = loaded.get(id);
+            if (reference != null) setter.accept(entity, reference);
+        });
+    }
+
+    private static String unresolvedId(Object reference) {
+        if (!(reference instanceof LazyLoadingProxy proxy)) return null;
+
+        DBRef dbRef = proxy.toDBRef();
+        return dbRef == null || dbRef.getId() == null ? null : dbRef.getId().toString();
+    }
+}
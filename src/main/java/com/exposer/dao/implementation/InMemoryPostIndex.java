@@ -0,0 +1,355 @@
+package com.exposer.dao.implementation;
+
+import com.exposer.dao.interfaces.PostSearchIndex;
+import com.exposer.models.dto.PostChangedEvent;
+import com.exposer.models.entity.Post;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted index over post titles, content and tags, ranked with BM25.
+ * Enabled with {@code search.engine=memory}; Mongo is then only used to hydrate the final page.
+ *
+ * @implNote <ol>
+ *   <li>Every post gets a dense document number. Postings are parallel int arrays of document numbers
+ *   (ascending) and field-weighted term frequencies: title counts 5, tags 3 and content 1.</li>
+ *   <li>Only active posts are indexed. An updated post gets a new document number and the old one is
+ *   tombstoned; tombstones are dropped by the periodic rebuild, which also repairs any missed change event.
+ *   Document frequencies count live documents only, tombstones would skew the IDF.</li>
+ *   <li>Terms are kept sorted, so a query term with no exact match is expanded as a prefix.</li>
+ *   <li>Tags are also indexed verbatim under a separate namespace for the tag filter. Tag-only matches are
+ *   ordered by {@code createdAt}, kept per document, as the Mongo engine orders them.</li>
+ * </ol>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "search.engine", havingValue = "memory")
+class InMemoryPostIndex implements PostSearchIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int TITLE_WEIGHT = 5;
+    private static final int TAG_WEIGHT = 3;
+    private static final int CONTENT_WEIGHT = 1;
+    private static final int MAX_PREFIX_EXPANSIONS = 20;
+    private static final String TAG_PREFIX = "\u0000tag:";
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final String SORT_FIELD = "createdAt";
+
+    private final MongoTemplate mongoTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Set<String> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private volatile boolean ready;
+    private IndexState state = new IndexState();
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public Slice<String> search(List<String> terms, Set<String> tags, Pageable pageable) {
+
+        lock.readLock().lock();
+        try {
+            return state.search(terms, tags, pageable);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean canSortBy(String field) {
+        return SORT_FIELD.equals(field);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void buildOnStartup() {
+        rebuild();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${search.memory.rebuild-interval:1h}", initialDelayString = "${search.memory.rebuild-interval:1h}")
+    public void rebuild() {
+
+        long start = System.currentTimeMillis();
+        rebuilding = true;
+        changedDuringRebuild.clear();
+
+        IndexState fresh = new IndexState();
+        Query query = new Query(Criteria.where("isActive").is(true));
+        query.fields().include("title", "content", "tags", "isActive", SORT_FIELD);
+
+        try (Stream<Post> posts = mongoTemplate.stream(query, Post.class)) {
+            posts.forEach(fresh::add);
+        } catch (RuntimeException e) {
+            rebuilding = false;
+            log.error("Post index rebuild failed, keeping the current index: {}", e.getMessage());
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            state = fresh;
+            rebuilding = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Replay posts changed while the snapshot was read
+        if (!changedDuringRebuild.isEmpty()) {
+            List<String> changed = new ArrayList<>(changedDuringRebuild);
+            changedDuringRebuild.clear();
+
+            Map<String, Post> current = new HashMap<>();
+            mongoTemplate.find(Query.query(Criteria.where("id").in(changed)), Post.class)
+                    .forEach(post -> current.put(post.getId(), post));
+
+            changed.forEach(id -> apply(id, current.get(id)));
+        }
+
+        ready = true;
+        log.info("Post index rebuilt with {} posts and {} terms in {} ms",
+                fresh.liveCount(), fresh.termCount(), System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    void onPostChanged(PostChangedEvent event) {
+        if (rebuilding) {
+            changedDuringRebuild.add(event.postId());
+        }
+        apply(event.postId(), event.post());
+    }
+
+    private void apply(String postId, Post post) {
+        lock.writeLock().lock();
+        try {
+            state.remove(postId);
+            if (post != null && post.isActive()) state.add(post);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) return List.of();
+
+        return Arrays.stream(TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Not thread-safe, guarded by the outer lock once published.
+     */
+    private static final class IndexState {
+
+        private final NavigableMap<String, Postings> postings = new TreeMap<>();
+        private final Map<String, Integer> docByPostId = new HashMap<>();
+        private final List<String> postIdByDoc = new ArrayList<>();
+        private final BitSet deleted = new BitSet();
+        private int[] docLength = new int[1024];
+        private long[] createdAt = new long[1024];
+        private long totalLength;
+
+        void add(Post post) {
+
+            int doc = postIdByDoc.size();
+            postIdByDoc.add(post.getId());
+            docByPostId.put(post.getId(), doc);
+
+            Map<String, Integer> frequencies = new HashMap<>();
+            tokenize(post.getTitle()).forEach(token -> frequencies.merge(token, TITLE_WEIGHT, Integer::sum));
+            tokenize(post.getContent()).forEach(token -> frequencies.merge(token, CONTENT_WEIGHT, Integer::sum));
+
+            if (post.getTags() != null) {
+                for (String tag : post.getTags()) {
+                    tokenize(tag).forEach(token -> frequencies.merge(token, TAG_WEIGHT, Integer::sum));
+                    frequencies.merge(TAG_PREFIX + tag.toLowerCase(Locale.ROOT), 1, Integer::sum);
+                }
+            }
+
+            int length = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), _ -> new Postings()).add(doc, entry.getValue());
+                if (!entry.getKey().startsWith(TAG_PREFIX)) length += entry.getValue();
+            }
+
+            if (doc == docLength.length) {
+                docLength = Arrays.copyOf(docLength, doc * 2);
+                createdAt = Arrays.copyOf(createdAt, doc * 2);
+            }
+            docLength[doc] = length;
+            createdAt[doc] = post.getCreatedAt() == null ? 0 : post.getCreatedAt().toEpochMilli();
+            totalLength += length;
+        }
+
+        void remove(String postId) {
+            Integer doc = docByPostId.remove(postId);
+            if (doc == null) return;
+
+            deleted.set(doc);
+            totalLength -= docLength[doc];
+        }
+
+        int liveCount() {
+            return docByPostId.size();
+        }
+
+        int termCount() {
+            return postings.size();
+        }
+
+        Slice<String> search(List<String> terms, Set<String> tags, Pageable pageable) {
+
+            BitSet allowed = tagFilter(tags);
+            if (terms.isEmpty() && allowed != null) return byCreatedAt(allowed, pageable);
+
+            int live = liveCount();
+            float averageLength = live == 0 ? 1 : (float) totalLength / live;
+
+            Map<Integer, Float> scores = new HashMap<>();
+
+            for (String term : terms.stream().flatMap(t -> tokenize(t).stream()).distinct().toList()) {
+                for (Postings posting : expand(term)) {
+                    int frequency = posting.liveSize(deleted);
+                    if (frequency == 0) continue;
+
+                    float idf = (float) Math.log(1 + (live - frequency + 0.5) / (frequency + 0.5));
+
+                    for (int i = 0; i < posting.size; i++) {
+                        int doc = posting.docs[i];
+                        if (deleted.get(doc) || (allowed != null && !allowed.get(doc))) continue;
+
+                        float tf = posting.frequencies[i];
+                        float norm = K1 * (1 - B + B * docLength[doc] / averageLength);
+                        scores.merge(doc, idf * tf * (K1 + 1) / (tf + norm), Float::sum);
+                    }
+                }
+            }
+
+            int wanted = (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+            PriorityQueue<Map.Entry<Integer, Float>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+            for (Map.Entry<Integer, Float> entry : scores.entrySet()) {
+                top.offer(entry);
+                if (top.size() > wanted) top.poll();
+            }
+
+            List<Map.Entry<Integer, Float>> ranked = new ArrayList<>(top);
+            ranked.sort(Map.Entry.<Integer, Float>comparingByValue().reversed());
+
+            List<String> page = ranked.stream()
+                    .skip(pageable.getOffset())
+                    .map(entry -> postIdByDoc.get(entry.getKey()))
+                    .toList();
+
+            return new PageImpl<>(page, pageable, scores.size());
+        }
+
+        /**
+         * Tags only: every allowed post matches, ordered by creation time then post id, newest first unless
+         * the pageable asks for ascending.
+         */
+        private Slice<String> byCreatedAt(BitSet allowed, Pageable pageable) {
+
+            Sort.Order order = pageable.getSort().getOrderFor(SORT_FIELD);
+            Comparator<Integer> oldestFirst = Comparator.<Integer>comparingLong(doc -> createdAt[doc])
+                    .thenComparing(postIdByDoc::get);
+            Comparator<Integer> ordering = order != null && order.isAscending() ? oldestFirst : oldestFirst.reversed();
+
+            int wanted = (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+            PriorityQueue<Integer> top = new PriorityQueue<>(ordering.reversed());
+            int matches = 0;
+
+            for (int doc = allowed.nextSetBit(0); doc >= 0; doc = allowed.nextSetBit(doc + 1)) {
+                if (deleted.get(doc)) continue;
+                matches++;
+                top.offer(doc);
+                if (top.size() > wanted) top.poll();
+            }
+
+            List<Integer> ranked = new ArrayList<>(top);
+            ranked.sort(ordering);
+
+            List<String> page = ranked.stream()
+                    .skip(pageable.getOffset())
+                    .map(postIdByDoc::get)
+                    .toList();
+
+            return new PageImpl<>(page, pageable, matches);
+        }
+
+        private List<Postings> expand(String term) {
+
+            Postings exact = postings.get(term);
+            if (exact != null) return List.of(exact);
+
+            return postings.subMap(term, true, term + Character.MAX_VALUE, false).values().stream()
+                    .limit(MAX_PREFIX_EXPANSIONS)
+                    .toList();
+        }
+
+        private BitSet tagFilter(Set<String> tags) {
+
+            if (tags == null || tags.isEmpty()) return null;
+
+            BitSet allowed = new BitSet();
+            for (String tag : tags) {
+                Postings posting = postings.get(TAG_PREFIX + tag.toLowerCase(Locale.ROOT));
+                if (posting == null) continue;
+                for (int i = 0; i < posting.size; i++) allowed.set(posting.docs[i]);
+            }
+            return allowed;
+        }
+    }
+
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        void add(int doc, int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        /**
+         * @return the number of documents holding the term, tombstones left out
+         */
+        int liveSize(BitSet deleted) {
+            int live = 0;
+            for (int i = 0; i < size; i++) {
+                if (!deleted.get(docs[i])) live++;
+            }
+            return live;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.exposer.dao.implementation;
+
+import com.exposer.dao.interfaces.CacheCodec;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * The historical format, UTF-8 JSON.
+ */
+@Component
+@RequiredArgsConstructor
+class JsonCacheCodec implements CacheCodec {
+
+    private final JsonMapper jsonMapper;
+
+    @Override
+    public byte id() {
+        return 1;
+    }
+
+    @Override
+    public String name() {
+        return "json";
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        return jsonMapper.writeValueAsBytes(value);
+    }
+
+    @Override
+    public <T> T decode(byte[] bytes, Class<T> type) {
+        return jsonMapper.readValue(bytes, type);
+    }
+
+    @Override
+    public <T> T decode(byte[] bytes, TypeReference<T> type) {
+        return jsonMapper.readValue(bytes, type);
+    }
+}
@@ -0,0 +1,117 @@
+package com.exposer.dao.implementation;
+
+import com.exposer.models.dto.request.PaginationRequest;
+import com.exposer.models.entity.AbstractEntity;
+import com.exposer.utils.CursorSlice;
+import com.exposer.utils.CursorUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Keyset (cursor) pagination for the list queries of the DAOs.
+ *
+ * @implNote <p>
+ * Results are ordered by {@code sortBy} then {@code _id}; the cursor holds both values of the last
+ * element and the next page is a range query strictly after them, so no documents are skipped or
+ * counted and every page costs the same as the first one. {@code size + 1} documents are read to
+ * know whether there is a next page.</p>
+ */
+@Component
+@RequiredArgsConstructor
+class KeysetPager {
+
+    private static final String ID_FIELD = "id";
+    private static final String DEFAULT_SORT_FIELD = "createdAt";
+
+    private final MongoTemplate mongoTemplate;
+
+    <T extends AbstractEntity> CursorSlice<T> find(final Criteria criteria, final PaginationRequest request, final Class<T> entityClass) {
+
+        String sortBy = request.getSortBy() == null || request.getSortBy().isBlank() ? DEFAULT_SORT_FIELD : request.getSortBy();
+        validateSortField(sortBy, entityClass);
+
+        boolean descending = !Boolean.FALSE.equals(request.getIsNewest());
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+
+        boolean first = request.getCursor() == null || request.getCursor().isBlank();
+
+        Criteria filter = criteria == null ? new Criteria() : criteria;
+        if (!first) {
+            CursorUtil.Cursor cursor = CursorUtil.decode(request.getCursor());
+            filter = new Criteria().andOperator(filter, after(sortBy, cursor, descending));
+        }
+
+        Sort sort = ID_FIELD.equals(sortBy)
+                ? Sort.by(direction, ID_FIELD)
+                : Sort.by(direction, sortBy).and(Sort.by(direction, ID_FIELD));
+
+        Query query = new Query(filter)
+                .with(sort)
+                .limit(request.getSize() + 1);
+
+        List<T> result = mongoTemplate.find(query, entityClass);
+
+        boolean hasNext = result.size() > request.getSize();
+        List<T> content = hasNext ? result.subList(0, request.getSize()) : result;
+
+        String nextCursor = null;
+        if (hasNext) {
+            T last = content.getLast();
+            nextCursor = CursorUtil.encode(sortValue(last, sortBy), last.getId());
+        }
+
+        return new CursorSlice<>(content, request.getSize(), first, nextCursor);
+    }
+
+    /**
+     * Everything ordered strictly after the cursor. Mongo sorts null lowest, so nulls come last
+     * when descending and first when ascending.
+     */
+    private Criteria after(final String sortBy, final CursorUtil.Cursor cursor, final boolean descending) {
+
+        Object value = cursor.sortValue();
+        Criteria idAfter = descending ? Criteria.where(ID_FIELD).lt(cursor.id()) : Criteria.where(ID_FIELD).gt(cursor.id());
+
+        if (ID_FIELD.equals(sortBy)) {
+            return idAfter;
+        }
+
+        if (value == null) {
+            Criteria sameNull = new Criteria().andOperator(Criteria.where(sortBy).is(null), idAfter);
+            return descending ? sameNull : new Criteria().orOperator(sameNull, Criteria.where(sortBy).ne(null));
+        }
+
+        Criteria beyond = descending ? Criteria.where(sortBy).lt(value) : Criteria.where(sortBy).gt(value);
+        Criteria tie = new Criteria().andOperator(Criteria.where(sortBy).is(value), idAfter);
+
+        return descending
+                ? new Criteria().orOperator(beyond, tie, Criteria.where(sortBy).is(null))
+                : new Criteria().orOperator(beyond, tie);
+    }
+
+    private Object sortValue(final Object entity, final String sortBy) {
+        try {
+            return PropertyAccessorFactory.forDirectFieldAccess(entity).getPropertyValue(sortBy);
+        } catch (BeansException e) {
+            throw new IllegalArgumentException("Unsupported sort field for cursor pagination: " + sortBy);
+        }
+    }
+
+    private void validateSortField(final String sortBy, final Class<?> entityClass) {
+        try {
+            PropertyPath.from(sortBy, entityClass);
+        } catch (PropertyReferenceException e) {
+            throw new IllegalArgumentException("Unsupported sort field for cursor pagination: " + sortBy);
+        }
+    }
+}
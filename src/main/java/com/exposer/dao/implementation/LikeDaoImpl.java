@@ -2,14 +2,25 @@ package com.exposer.dao.implementation;
 
 import com.exposer.dao.interfaces.LikeDao;
 import com.exposer.dao.repository.LikeRepository;
+import com.exposer.models.dto.BulkInsertResult;
+import com.exposer.models.dto.UpsertResult;
 import com.exposer.models.dto.request.PaginationRequest;
 import com.exposer.models.entity.Like;
+import com.exposer.models.entity.enums.LikeType;
 import com.exposer.utils.CommonUtil;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -17,6 +28,10 @@ import java.util.Optional;
 class LikeDaoImpl implements LikeDao {
 
     private final LikeRepository likeRepository;
+    private final MongoTemplate mongoTemplate;
+    private final BulkInserter bulkInserter;
+    private final KeysetPager keysetPager;
+    private final OffsetPager offsetPager;
 
 
     @Override
@@ -44,28 +59,96 @@ class LikeDaoImpl implements LikeDao {
         return likeRepository.save(like);
     }
 
+    /**
+     * @implNote An upserting {@code findAndModify} on the unique {@code {userId, targetId}} index.
+     * The id is generated here and only written on insert, so the returned document tells whether this
+     * call inserted it. Upserts bypass auditing, the audit fields are set on insert as well.
+     */
     @Override
-    public Page<Like> findAll(PaginationRequest request) {
+    public UpsertResult<Like> insertIfAbsent(Like like) {
+
+        ObjectId id = new ObjectId();
+        Instant now = Instant.now();
+
+        Update update = new Update()
+                .setOnInsert("_id", id)
+                .setOnInsert("targetType", like.getTargetType())
+                .setOnInsert("likeType", like.getLikeType())
+                .setOnInsert("createdAt", now)
+                .setOnInsert("updatedAt", now)
+                .setOnInsert("createdBy", like.getCreatedBy())
+                .setOnInsert("updatedBy", like.getCreatedBy());
+
+        try {
+            Like stored = mongoTemplate.findAndModify(byUserAndTarget(like.getUserId(), like.getTargetId()), update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), Like.class);
+
+            return new UpsertResult<>(stored, stored != null && id.toHexString().equals(stored.getId()));
+        } catch (DuplicateKeyException e) {
+            // A concurrent upsert for the same pair inserted first
+            Like existing = likeRepository.findByUserIdAndTargetId(like.getUserId(), like.getTargetId()).orElseThrow(() -> e);
+            return new UpsertResult<>(existing, false);
+        }
+    }
+
+    @Override
+    public Optional<Like> updateLikeType(String id, LikeType from, LikeType to) {
 
-        Pageable pageable = CommonUtil.toBuildSortAndPage(request);
+        Query query = Query.query(Criteria.where("id").is(id).and("likeType").is(from));
+        Update update = new Update().set("likeType", to).set("updatedAt", Instant.now());
 
-        return likeRepository.findAll(pageable);
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), Like.class));
     }
 
     @Override
-    public Page<Like> findByTargetId(String targetId, PaginationRequest request) {
+    public BulkInsertResult insertAll(List<Like> likes) {
+        return bulkInserter.insert(likes, Like.class);
+    }
 
-        Pageable pageable = CommonUtil.toBuildSortAndPage(request);
+    @Override
+    public Optional<Like> deleteByUserIdAndTargetId(String userId, String targetId) {
+        return Optional.ofNullable(mongoTemplate.findAndRemove(byUserAndTarget(userId, targetId), Like.class));
+    }
 
-        return likeRepository.findByTargetId(targetId, pageable);
+    @Override
+    public Optional<Like> deleteByIdAndUserId(String id, String userId) {
+        Query query = Query.query(Criteria.where("id").is(id).and("userId").is(userId));
+        return Optional.ofNullable(mongoTemplate.findAndRemove(query, Like.class));
     }
 
     @Override
-    public Page<Like> findByUserId(String userId, PaginationRequest request) {
+    public Slice<Like> findAll(PaginationRequest request) {
+
+        if (CommonUtil.isCursorRequest(request)) {
+            return keysetPager.find(null, request, Like.class);
+        }
+
+        return offsetPager.find(null, request, Like.class);
+    }
 
-        Pageable pageable = CommonUtil.toBuildSortAndPage(request);
+    @Override
+    public Slice<Like> findByTargetId(String targetId, PaginationRequest request) {
+
+        if (CommonUtil.isCursorRequest(request)) {
+            return keysetPager.find(Criteria.where("targetId").is(targetId), request, Like.class);
+        }
+
+        return offsetPager.find(Criteria.where("targetId").is(targetId), request, Like.class);
+    }
+
+    @Override
+    public Slice<Like> findByUserId(String userId, PaginationRequest request) {
+
+        if (CommonUtil.isCursorRequest(request)) {
+            return keysetPager.find(Criteria.where("userId").is(userId), request, Like.class);
+        }
+
+        return offsetPager.find(Criteria.where("userId").is(userId), request, Like.class);
+    }
 
-        return likeRepository.findByUserId(userId, pageable);
+    private Query byUserAndTarget(String userId, String targetId) {
+        return Query.query(Criteria.where("userId").is(userId).and("targetId").is(targetId));
     }
 
 }
@@ -0,0 +1,146 @@
+package com.exposer.dao.implementation;
+
+import com.exposer.dao.interfaces.StatsDao;
+import com.exposer.models.entity.Like;
+import com.exposer.models.entity.enums.LikeType;
+import com.exposer.models.entity.enums.TargetType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
+
+/**
+ * Creates the unique {@code {userId, targetId}} index on likes, removing the duplicate likes that older
+ * versions could insert first.
+ *
+ * @implNote The index cannot be declared on {@link Like}: automatic index creation runs before any
+ * migration and fails on a collection with duplicates. For every duplicated pair the oldest like is kept,
+ * the others are deleted and their like and reaction counts taken back. Once the index exists, this is a
+ * single index listing per startup. One node runs it, under a lock.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class LikeIndexMigration {
+
+    private static final String UNIQUE_INDEX_NAME = "like_user_target_unique_idx";
+
+    private static final String LOCK_KEY = "likes:index-migration-lock";
+    private static final Duration LOCK_TTL = Duration.ofMinutes(30);
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final MongoTemplate mongoTemplate;
+    private final RedisLocks redisLocks;
+    private final StatsCounterBuffer statsCounterBuffer;
+    private final StatsDao statsDao;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void migrate() {
+
+        IndexOperations indexOps = mongoTemplate.indexOps(Like.class);
+        if (hasUniqueIndex(indexOps)) return;
+
+        Optional<String> lockToken = redisLocks.tryAcquire(LOCK_KEY, LOCK_TTL);
+        if (lockToken.isEmpty()) {
+            log.info("Like index migration skipped, another node holds the lock");
+            return;
+        }
+
+        try {
+            // Likes inserted while deduplicating can create new duplicates, which fail the index creation
+            for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+                long removed = removeDuplicates();
+                try {
+                    indexOps.createIndex(new Index()
+                            .on("userId", Sort.Direction.ASC)
+                            .on("targetId", Sort.Direction.ASC)
+                            .unique()
+                            .named(UNIQUE_INDEX_NAME));
+
+                    log.info("Created {} after removing {} duplicate likes", UNIQUE_INDEX_NAME, removed);
+                    return;
+                } catch (DuplicateKeyException e) {
+                    log.warn("Creating {} failed on new duplicates, attempt {} of {}", UNIQUE_INDEX_NAME, attempt, MAX_ATTEMPTS);
+                }
+            }
+            log.error("Could not create {}, likes are not unique per user and target until the next startup", UNIQUE_INDEX_NAME);
+        } finally {
+            redisLocks.release(LOCK_KEY, lockToken.get());
+        }
+    }
+
+    private boolean hasUniqueIndex(IndexOperations indexOps) {
+        return indexOps.getIndexInfo().stream().anyMatch(index -> UNIQUE_INDEX_NAME.equals(index.getName()));
+    }
+
+    /**
+     * @return the number of deleted likes
+     */
+    private long removeDuplicates() {
+
+        Aggregation aggregation = newAggregation(
+                sort(Sort.by(Sort.Direction.ASC, "createdAt", "_id")),
+                group("userId", "targetId").push("_id").as("ids").count().as("count"),
+                match(Criteria.where("count").gt(1)))
+                .withOptions(Aggregation.newAggregationOptions().allowDiskUse(true).build());
+
+        List<Object> duplicates = new ArrayList<>();
+        long removed = 0;
+
+        try (Stream<Document> rows = mongoTemplate.aggregateStream(aggregation, Like.class, Document.class)) {
+            Iterator<Document> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                List<Object> ids = iterator.next().getList("ids", Object.class);
+                duplicates.addAll(ids.subList(1, ids.size()));
+
+                if (duplicates.size() >= CHUNK_SIZE) removed += remove(duplicates);
+            }
+        }
+
+        return removed + remove(duplicates);
+    }
+
+    /**
+     * Deletes a chunk of likes and takes back the counts they added.
+     */
+    private long remove(List<Object> ids) {
+
+        if (ids.isEmpty()) return 0;
+
+        List<Like> likes = mongoTemplate.findAllAndRemove(new Query(Criteria.where("_id").in(ids)), Like.class);
+
+        for (Like like : likes) {
+            LikeType likeType = like.getLikeType();
+
+            if (like.getTargetType() == TargetType.POST) {
+                statsCounterBuffer.incrementPostLike(like.getTargetId(), likeType, -1);
+            } else if (like.getTargetType() == TargetType.COMMENT) {
+                statsCounterBuffer.incrementCommentLike(like.getTargetId(), likeType, -1);
+            }
+            if (likeType != null) statsDao.recordReaction(like.getTargetId(), likeType, -1);
+        }
+
+        ids.clear();
+        return likes.size();
+    }
+}
@@ -0,0 +1,154 @@
+package com.exposer.dao.implementation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.exposer.constants.RedisConstants.CACHE_INVALIDATION_CHANNEL;
+
+/**
+ * In-process L1 tier in front of the Redis hashes used by {@link RedisCacheServiceImpl}.
+ *
+ * @implNote <p>
+ * Entries are keyed by the Redis key and hold one value per hash field (BY_ID / BY_NAME),
+ * so an invalidation drops every field of a key at once. Values are kept encoded, as stored in Redis,
+ * each hit is deserialized into a fresh object and callers can never mutate a shared instance.</p>
+ * <p>
+ * Deletes and overwrites are broadcast on {@code cache:invalidation} so every node drops its copy right
+ * away. A value read from Redis is only kept if no invalidation of its key arrived while it was read:
+ * each invalidation bumps a generation per stripe of keys, read before the Redis call and checked again
+ * around the L1 put.</p>
+ */
+@Slf4j
+@Component
+class NearCache implements MessageListener {
+
+    private static final String METRIC_NAME = "exposer.cache.requests";
+    private static final int GENERATION_STRIPES = 4096;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, ConcurrentMap<String, byte[]>> cache;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    NearCache(RedisTemplate<String, String> redisTemplate,
+              RedisMessageListenerContainer listenerContainer,
+              MeterRegistry meterRegistry,
+              @Value("${cache.near.maximum-size:10000}") long maximumSize,
+              @Value("${cache.near.ttl:30s}") Duration ttl) {
+
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.meterRegistry = meterRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CACHE_INVALIDATION_CHANNEL));
+    }
+
+    Optional<byte[]> get(final String cacheKey, final String hashField) {
+
+        ConcurrentMap<String, byte[]> fields = cache.getIfPresent(cacheKey);
+        byte[] value = fields == null ? null : fields.get(hashField);
+
+        record("l1", cacheKey, value != null);
+        return Optional.ofNullable(value);
+    }
+
+    /**
+     * Read before fetching a value from Redis, then handed to {@link #put}.
+     */
+    long generation(final String cacheKey) {
+        return generations.get(stripe(cacheKey));
+    }
+
+    /**
+     * Keeps a value read from Redis, unless its key was invalidated since {@code generation} was read.
+     */
+    void put(final String cacheKey, final String hashField, final byte[] value, final long generation) {
+
+        int stripe = stripe(cacheKey);
+        if (generations.get(stripe) != generation) return;
+
+        cache.get(cacheKey, _ -> new ConcurrentHashMap<>()).put(hashField, value);
+
+        // An invalidation landing between the check and the put may have run first
+        if (generations.get(stripe) != generation) cache.invalidate(cacheKey);
+    }
+
+    /**
+     * Drops the key locally and tells every other node to do the same.
+     */
+    void invalidate(final String cacheKey) {
+        drop(cacheKey);
+        try {
+            redisTemplate.convertAndSend(CACHE_INVALIDATION_CHANNEL, cacheKey);
+        } catch (RuntimeException e) {
+            log.error("Error when publishing cache invalidation for key {}: {}", cacheKey, e.getMessage());
+        }
+    }
+
+    void recordL2(final String cacheKey, final boolean hit) {
+        record("l2", cacheKey, hit);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String cacheKey = new String(message.getBody(), StandardCharsets.UTF_8);
+        drop(cacheKey);
+        log.debug("Near cache entry invalidated: {}", cacheKey);
+    }
+
+    private void drop(final String cacheKey) {
+        generations.incrementAndGet(stripe(cacheKey));
+        cache.invalidate(cacheKey);
+    }
+
+    private int stripe(final String cacheKey) {
+        return Math.floorMod(cacheKey.hashCode(), GENERATION_STRIPES);
+    }
+
+    private void record(final String tier, final String cacheKey, final boolean hit) {
+
+        String prefix = prefixOf(cacheKey);
+        String result = hit ? "hit" : "miss";
+
+        counters.computeIfAbsent(tier + ":" + prefix + ":" + result, _ -> Counter.builder(METRIC_NAME)
+                        .description("Cache lookups per tier and key prefix")
+                        .tag("tier", tier)
+                        .tag("prefix", prefix)
+                        .tag("result", result)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    private String prefixOf(final String cacheKey) {
+        int separator = cacheKey.indexOf(':');
+        return separator < 0 ? cacheKey : cacheKey.substring(0, separator);
+    }
+}
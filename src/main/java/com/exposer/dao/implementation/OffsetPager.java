@@ -0,0 +1,98 @@
+package com.exposer.dao.implementation;
+
+import com.exposer.models.dto.request.PaginationRequest;
+import com.exposer.utils.CommonUtil;
+import com.mongodb.MongoClientSettings;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.codecs.DocumentCodec;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Offset pagination for the list queries of the DAOs, without a {@code countDocuments} per request.
+ *
+ * @implNote <ol>
+ *   <li>{@code withTotal=false}: reads {@code size + 1} documents and returns a {@link Slice},
+ *   the extra document only tells whether there is a next page.</li>
+ *   <li>{@code withTotal=true}: returns a page whose total is approximate. Unfiltered lists use
+ *   {@code estimatedDocumentCount} (collection metadata), filtered lists count once and keep the
+ *   result in Redis for {@link #COUNT_TTL}.</li>
+ * </ol>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class OffsetPager {
+
+    private static final String COUNT_KEY_PREFIX = "counts:";
+    private static final Duration COUNT_TTL = Duration.ofMinutes(1);
+
+    private final MongoTemplate mongoTemplate;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    <T> Slice<T> find(final Criteria criteria, final PaginationRequest request, final Class<T> entityClass) {
+
+        Query query = new Query(criteria == null ? new Criteria() : criteria);
+        return find(query, CommonUtil.toBuildSortAndPage(request), !Boolean.FALSE.equals(request.getWithTotal()), entityClass);
+    }
+
+    /**
+     * @param query    filter, projection and sort; skip and limit are taken from {@code pageable}
+     * @param pageable its sort is added to the query sort
+     */
+    <T> Slice<T> find(final Query query, final Pageable pageable, final boolean withTotal, final Class<T> entityClass) {
+
+        if (!withTotal) {
+            List<T> result = mongoTemplate.find(Query.of(query).with(pageable).limit(pageable.getPageSize() + 1), entityClass);
+
+            boolean hasNext = result.size() > pageable.getPageSize();
+            return new SliceImpl<>(hasNext ? result.subList(0, pageable.getPageSize()) : result, pageable, hasNext);
+        }
+
+        List<T> content = mongoTemplate.find(Query.of(query).with(pageable), entityClass);
+        return new PageImpl<>(content, pageable, approximateCount(query.getQueryObject(), entityClass));
+    }
+
+    private long approximateCount(final Document filter, final Class<?> entityClass) {
+
+        if (filter.isEmpty()) {
+            return mongoTemplate.estimatedCount(entityClass);
+        }
+
+        String filterJson = filter.toJson(new DocumentCodec(MongoClientSettings.getDefaultCodecRegistry()));
+        String countKey = COUNT_KEY_PREFIX + mongoTemplate.getCollectionName(entityClass) + ":"
+                + DigestUtils.md5DigestAsHex(filterJson.getBytes(StandardCharsets.UTF_8));
+
+        try {
+            String cached = redisTemplate.opsForValue().get(countKey);
+            if (cached != null) return Long.parseLong(cached);
+        } catch (RuntimeException e) {
+            log.warn("Error when reading cached count {}: {}", countKey, e.getMessage());
+        }
+
+        long count = mongoTemplate.count(new BasicQuery(filter), entityClass);
+
+        try {
+            redisTemplate.opsForValue().set(countKey, Long.toString(count), COUNT_TTL);
+        } catch (RuntimeException e) {
+            log.warn("Error when caching count {}: {}", countKey, e.getMessage());
+        }
+
+        return count;
+    }
+}
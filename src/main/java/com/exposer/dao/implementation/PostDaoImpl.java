@@ -1,54 +1,94 @@
 package com.exposer.dao.implementation;
 
 import com.exposer.dao.interfaces.PostDao;
+import com.exposer.dao.interfaces.PostSearchIndex;
 import com.exposer.dao.interfaces.RedisCacheService;
+import com.exposer.dao.interfaces.StatsDao;
 import com.exposer.dao.repository.PostRepository;
+import com.exposer.models.dto.BulkInsertResult;
+import com.exposer.models.dto.PostChangedEvent;
+import com.exposer.models.dto.VersionedPage;
 import com.exposer.models.dto.request.PaginationRequest;
 import com.exposer.models.dto.request.PostSearchRequest;
 import com.exposer.models.dto.response.PagedResponse;
 import com.exposer.models.dto.response.PostResponse;
 import com.exposer.models.dto.response.admin.AdminPostResponse;
 import com.exposer.models.entity.Post;
+import com.exposer.models.entity.enums.LikeType;
 import com.exposer.utils.CommonUtil;
+import com.exposer.utils.SearchQueryParser;
 import com.exposer.utils.mapper.PostMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.bson.types.ObjectId;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 import tools.jackson.core.type.TypeReference;
 
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
 import static com.exposer.constants.RedisConstants.POST_CACHE_PREFIX;
+import static com.exposer.dao.implementation.StatsCounterBuffer.*;
 
 @Slf4j
 @Repository
 @RequiredArgsConstructor
 class PostDaoImpl implements PostDao {
 
+    private static final Sort RECOMMENDATION_SORT = Sort.by(
+            Sort.Order.desc("postStats.likeCount"),
+            Sort.Order.desc("postStats.commentCount"),
+            Sort.Order.desc("postStats.saveCount"),
+            Sort.Order.desc("createdAt")
+    );
+
     private final PostRepository postRepository;
-    private final MongoTemplate mongoTemplate;
     private final RedisCacheService redisCacheService;
+    private final CachingLoader cachingLoader;
+    private final StatsCounterBuffer statsCounterBuffer;
+    private final StatsDao statsDao;
+    private final KeysetPager keysetPager;
+    private final OffsetPager offsetPager;
+    private final DbRefBatchResolver dbRefBatchResolver;
+    private final Optional<PostSearchIndex> postSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BulkInserter bulkInserter;
+    private final MongoTemplate mongoTemplate;
+    private final AuditorAware<String> auditorAware;
 
     @Override
     public Optional<Post> findById(String id) {
-        return redisCacheService.getById(id, Post.class)
-                .or(() -> postRepository.findById(id))
-                .map(user -> {
-                    redisCacheService.putById(id, user, null);
-                    return user;
-                });
+        return cachingLoader.loadById(id, Post.class, null, () -> postRepository.findById(id))
+                .map(statsCounterBuffer::applyPending);
+    }
+
+    @Override
+    public List<Post> findAllById(Collection<String> ids) {
+        return cachingLoader.loadAllById(ids, Post.class, null, postRepository::findAllById).stream()
+                .map(statsCounterBuffer::applyPending)
+                .toList();
     }
 
     @Override
@@ -60,6 +100,7 @@ class PostDaoImpl implements PostDao {
     public void deleteById(String s) {
         postRepository.deleteById(s);
         redisCacheService.deleteById(s, Post.class);
+        eventPublisher.publishEvent(new PostChangedEvent(s, null));
     }
 
     @Override
@@ -71,15 +112,63 @@ class PostDaoImpl implements PostDao {
 
         // Increment pagination version if it's belongs to the author's post present in cache
         redisCacheService.incrementPaginationVersion(saved.getAuthor().getId(), POST_CACHE_PREFIX);
+
+        eventPublisher.publishEvent(new PostChangedEvent(saved.getId(), saved));
         return saved;
     }
 
+    @Override
+    public Optional<Post> updateDetails(Post post) {
+
+        Update update = new Update()
+                .set("title", post.getTitle())
+                .set("content", post.getContent())
+                .set("image", post.getImage())
+                .set("tags", post.getTags())
+                .set("isActive", post.isActive())
+                .set("updatedAt", Instant.now())
+                .set("updatedBy", auditorAware.getCurrentAuditor().orElse("system"));
+
+        Post updated = mongoTemplate.findAndModify(new Query(Criteria.where("_id").is(post.getId())), update,
+                FindAndModifyOptions.options().returnNew(true), Post.class);
+        if (updated == null) return Optional.empty();
+
+        redisCacheService.deleteById(updated.getId(), Post.class);
+        redisCacheService.incrementPaginationVersion(updated.getAuthor().getId(), POST_CACHE_PREFIX);
+
+        eventPublisher.publishEvent(new PostChangedEvent(updated.getId(), updated));
+        return Optional.of(statsCounterBuffer.applyPending(updated));
+    }
+
+    /**
+     * @implNote Inserted posts are not written to the entity cache, they are loaded on first read.
+     */
+    @Override
+    public BulkInsertResult insertAll(List<Post> posts) {
+
+        BulkInsertResult result = bulkInserter.insert(posts, Post.class);
+
+        Set<String> authors = new HashSet<>();
+        for (int i = 0; i < posts.size(); i++) {
+            if (result.errors().containsKey(i)) continue;
+
+            Post post = posts.get(i);
+            authors.add(post.getAuthor().getId());
+            eventPublisher.publishEvent(new PostChangedEvent(post.getId(), post));
+        }
+
+        authors.forEach(authorId -> redisCacheService.incrementPaginationVersion(authorId, POST_CACHE_PREFIX));
+        return result;
+    }
+
     @Override
     public PagedResponse<AdminPostResponse> findAll(PaginationRequest request) {
 
-        Pageable pageable = CommonUtil.toBuildSortAndPage(request);
+        if (CommonUtil.isCursorRequest(request)) {
+            return CommonUtil.buildPagedResponse(dbRefBatchResolver.withAuthors(keysetPager.find(null, request, Post.class)), PostMapper::toAdminPostResponse);
+        }
 
-        Page<Post> page = postRepository.findAll(pageable);
+        Slice<Post> page = dbRefBatchResolver.withAuthors(offsetPager.find(null, request, Post.class));
 
         return CommonUtil.buildPagedResponse(page, PostMapper::toAdminPostResponse);
 
@@ -88,102 +177,145 @@ class PostDaoImpl implements PostDao {
     @Override
     public PagedResponse<PostResponse> findByUser(String userId, PaginationRequest request) {
 
-        PagedResponse<PostResponse> cached = redisCacheService.getByPagination(userId, request, POST_CACHE_PREFIX, new TypeReference<>() {
+        Criteria criteria = Criteria.where("author.$id").is(new ObjectId(userId));
+
+        // Cursor pages are not cached, the cache key is built from the page number
+        if (CommonUtil.isCursorRequest(request)) {
+            return CommonUtil.buildPagedResponse(dbRefBatchResolver.withAuthors(keysetPager.find(criteria, request, Post.class)), PostMapper::toPostResponse);
+        }
+
+        VersionedPage<PagedResponse<PostResponse>> cached = redisCacheService.getByPagination(userId, request, POST_CACHE_PREFIX, new TypeReference<>() {
         });
 
-        if (cached != null && !cached.getContent().isEmpty()) return cached;
+        if (cached.isHit() && !cached.data().getContent().isEmpty()) return cached.data();
 
-        Pageable pageable = CommonUtil.toBuildSortAndPage(request);
-        Page<Post> page = postRepository.findByAuthor_Id(userId, pageable);
+        Slice<Post> page = dbRefBatchResolver.withAuthors(offsetPager.find(criteria, request, Post.class));
 
         PagedResponse<PostResponse> posts = CommonUtil.buildPagedResponse(page, PostMapper::toPostResponse);
-        redisCacheService.putByPagination(userId, request, POST_CACHE_PREFIX, posts, Duration.ofMinutes(10));
+        redisCacheService.putByPagination(userId, request, POST_CACHE_PREFIX, cached.version(), posts, Duration.ofMinutes(10));
 
         return posts;
     }
 
     @Override
-    public Page<Post> search(PostSearchRequest searchRequest, PaginationRequest paginationRequest) {
-
-        Pageable pageable = CommonUtil.toBuildSortAndPage(paginationRequest);
+    public Slice<Post> search(PostSearchRequest searchRequest, PaginationRequest paginationRequest) {
 
         String query = searchRequest.getQuery();
         Set<String> tags = searchRequest.getTags();
-        log.info("Calling repository with: query='{}', tags={}", query, tags);
-
+        boolean hasTags = tags != null && !tags.isEmpty();
+        boolean withTotal = !Boolean.FALSE.equals(paginationRequest.getWithTotal());
+
+        List<String> terms = SearchQueryParser.parseTerms(query);
+        log.info("Searching posts with: terms={}, tags={}", terms, tags);
+
+        // Tag-only matches follow the client sort, which the index may not support
+        Optional<PostSearchIndex> index = postSearchIndex.filter(PostSearchIndex::isReady)
+                .filter(engine -> !terms.isEmpty() || engine.canSortBy(paginationRequest.getSortBy()));
+        if (index.isPresent()) {
+            if (terms.isEmpty() && !hasTags) return new SliceImpl<>(List.of());
+
+            Pageable pageable = terms.isEmpty()
+                    ? CommonUtil.toBuildSortAndPage(paginationRequest)
+                    : PageRequest.of(paginationRequest.getPage(), paginationRequest.getSize());
+            return hydrate(index.get().search(terms, tags, pageable), withTotal);
+        }
 
-        Page<Post> result = null;
+        if (terms.isEmpty()) {
+            if (!hasTags) return new SliceImpl<>(List.of());
 
-        if (query != null && !query.trim().isEmpty() && tags != null && !tags.isEmpty()) {
-            result = postRepository.findProjectedByTitleAndTags(query, tags, pageable);
-        } else if (query != null) {
-            result = postRepository.findProjectedByTitle(query, pageable);
-        } else if (tags != null && !tags.isEmpty()) {
-            result = postRepository.findProjectedByTags(tags, pageable);
+            Query byTags = projectSearchFields(new Query(Criteria.where("tags").in(tags)));
+            return offsetPager.find(byTags, CommonUtil.toBuildSortAndPage(paginationRequest), withTotal, Post.class);
         }
 
+        // Ranked by relevance, a client sortBy would only break ties
+        Pageable pageable = PageRequest.of(paginationRequest.getPage(), paginationRequest.getSize());
 
-        return result;
+        Query text = TextQuery.queryText(TextCriteria.forDefaultLanguage().matchingAny(terms.toArray(String[]::new)))
+                .sortByScore();
+        if (hasTags) text.addCriteria(Criteria.where("tags").in(tags));
+
+        Slice<Post> result = offsetPager.find(projectSearchFields(text), pageable, withTotal, Post.class);
+        if (result.hasContent() || pageable.getPageNumber() > 0) return result;
+
+        // $text only matches whole (stemmed) words, fall back to title prefixes for partial input
+        Criteria prefix = Criteria.where("title").in(SearchQueryParser.titlePrefixPatterns(query));
+        if (hasTags) prefix.and("tags").in(tags);
+
+        Query byPrefix = projectSearchFields(new Query(prefix));
+        return offsetPager.find(byPrefix, CommonUtil.toBuildSortAndPage(paginationRequest), withTotal, Post.class);
+    }
+
+    /**
+     * Loads the posts of a ranked id page, keeping the index order.
+     */
+    private Slice<Post> hydrate(Slice<String> ids, boolean withTotal) {
+
+        List<Post> posts = findAllById(ids.getContent());
+
+        if (withTotal && ids instanceof PageImpl<String> page) {
+            return new PageImpl<>(posts, ids.getPageable(), page.getTotalElements());
+        }
+        return new SliceImpl<>(posts, ids.getPageable(), ids.hasNext());
+    }
 
+    private Query projectSearchFields(Query query) {
+        query.fields().include("id", "title", "createdAt", "tags", "image");
+        return query;
     }
 
     @Override
-    public Page<Post> recommendation(Set<String> tags, PaginationRequest paginationRequest) {
+    public Slice<Post> recommendation(Set<String> tags, PaginationRequest paginationRequest) {
 
-        Pageable pageable = CommonUtil.toBuildSortAndPage(paginationRequest);
+        // Order is fixed by popularity, a client sortBy would defeat post_recommendation_idx
+        Pageable pageable = PageRequest.of(paginationRequest.getPage(), paginationRequest.getSize());
 
-        // Most popular posts with matching tags
-        Instant ninetyDaysAgo = Instant.now().minus(90, ChronoUnit.DAYS);
+        // Most popular posts with matching tags; the window moves daily so its cached count is reused
+        Instant ninetyDaysAgo = Instant.now().truncatedTo(ChronoUnit.DAYS).minus(90, ChronoUnit.DAYS);
 
         Criteria criteria = Criteria.where("tags").in(tags)
                 .and("isActive").is(true)
                 .and("createdAt").gte(ninetyDaysAgo);
 
-        Query query = new Query(criteria)
-                .with(Sort.by(
-                        Sort.Order.desc("stats.likeCount"),
-                        Sort.Order.desc("stats.commentCount"),
-                        Sort.Order.desc("stats.saveCount"),
-                        Sort.Order.desc("createdAt")
-                ))
-                .with(pageable);
-
-        List<Post> posts = mongoTemplate.find(query, Post.class);
-        long total = mongoTemplate.count(query.limit(-1).skip(-1), Post.class);
+        Query query = new Query(criteria).with(RECOMMENDATION_SORT);
 
-        return new PageImpl<>(posts, pageable, total);
+        return dbRefBatchResolver.withAuthors(
+                offsetPager.find(query, pageable, !Boolean.FALSE.equals(paginationRequest.getWithTotal()), Post.class));
     }
 
 
     @Override
     public void updatePostForNewComment(String postId) {
-        postRepository.updatePostForNewComment(postId);
-        redisCacheService.deleteById(postId, Post.class);
+        statsCounterBuffer.incrementPost(postId, POST_COMMENT_COUNT, 1);
+    }
+
+    @Override
+    public void incrementLikeCount(String postId, LikeType likeType) {
+        statsCounterBuffer.incrementPostLike(postId, likeType, 1);
+        if (likeType != null) statsDao.recordReaction(postId, likeType, 1);
     }
 
     @Override
-    public void incrementLikeCount(String postId) {
-        postRepository.incrementLikeCount(postId);
-        redisCacheService.deleteById(postId, Post.class);
+    public void decrementLikeCount(String postId, LikeType likeType) {
+        statsCounterBuffer.incrementPostLike(postId, likeType, -1);
+        if (likeType != null) statsDao.recordReaction(postId, likeType, -1);
     }
 
     @Override
-    public void decrementLikeCount(String postId) {
-        postRepository.decrementLikeCount(postId);
-        redisCacheService.deleteById(postId, Post.class);
+    public void incrementLikeCounts(Map<String, Map<LikeType, Long>> likesByPost) {
+        likesByPost.forEach((postId, likes) ->
+                likes.forEach((likeType, count) -> statsCounterBuffer.incrementPostLike(postId, likeType, count)));
+        statsDao.recordReactions(likesByPost);
     }
 
 
     @Override
     public void decrementSaveCount(String postId) {
-        postRepository.decrementSaveCount(postId);
-        redisCacheService.deleteById(postId, Post.class);
+        statsCounterBuffer.incrementPost(postId, POST_SAVE_COUNT, -1);
     }
 
     @Override
     public void incrementSaveCount(String postId) {
-        postRepository.incrementSaveCount(postId);
-        redisCacheService.deleteById(postId, Post.class);
+        statsCounterBuffer.incrementPost(postId, POST_SAVE_COUNT, 1);
     }
 
 
@@ -1,19 +1,25 @@
 package com.exposer.dao.implementation;
 
 import com.exposer.dao.interfaces.RedisCacheService;
+import com.exposer.models.dto.VersionedPage;
 import com.exposer.models.dto.request.PaginationRequest;
 import com.exposer.models.entity.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.ReturnType;
 import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 import tools.jackson.core.JacksonException;
 import tools.jackson.core.type.TypeReference;
-import tools.jackson.databind.json.JsonMapper;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Supplier;
 
 import static com.exposer.constants.RedisConstants.*;
 
@@ -25,13 +31,54 @@ class RedisCacheServiceImpl implements RedisCacheService {
 
 
     private final RedisTemplate<String, String> redisTemplate;
-    private final JsonMapper jsonMapper;
+    private final RedisTemplate<String, byte[]> binaryRedisTemplate;
+    private final CacheValueCodec cacheValueCodec;
+    private final NearCache nearCache;
+    private final SingleFlight singleFlight;
 
     // Hash field names
     private static final String BY_ID_FIELD = "BY_ID";
     private static final String BY_NAME_FIELD = "BY_NAME";
+    private static final String GENERATION_FIELD = "GEN";
+    private static final byte[] BY_ID_FIELD_BYTES = BY_ID_FIELD.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] GENERATION_FIELD_BYTES = GENERATION_FIELD.getBytes(StandardCharsets.UTF_8);
     private static final String VERSION_KEY = "%s%s:version";
-    private static final String CACHE_PAGINATION_FORMAT = "%s%s:v%d:page:%d:size:%d:sortBy:%s:isNewest:%b";
+    private static final String CACHE_PAGINATION_SUFFIX_FORMAT = ":page:%d:size:%d:sortBy:%s:isNewest:%b:withTotal:%b";
+
+    // KEYS[1] = version key, ARGV[1] / ARGV[2] = page key around the version
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> VERSIONED_PAGE_SCRIPT = new DefaultRedisScript<>(
+            "local version = redis.call('get', KEYS[1]) " +
+                    "if not version then redis.call('set', KEYS[1], '1') version = '1' end " +
+                    "return {version, redis.call('get', ARGV[1] .. version .. ARGV[2])}",
+            List.class);
+
+    // Evicted keys keep their generation a little longer than any load can take
+    private static final Duration EVICTED_GENERATION_TTL = Duration.ofMinutes(1);
+
+    // KEYS[1] = cache key, ARGV[1] = hash field, ARGV[2] = value, ARGV[3] = ttl in seconds
+    private static final RedisScript<Long> PUT_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('hset', KEYS[1], ARGV[1], ARGV[2]) " +
+                    "redis.call('hincrby', KEYS[1], 'GEN', 1) " +
+                    "redis.call('expire', KEYS[1], ARGV[3]) " +
+                    "return 1",
+            Long.class);
+
+    // KEYS[1] = cache key, ARGV[1] = hash field, ARGV[2] = value, ARGV[3] = ttl in seconds, ARGV[4] = generation read before loading
+    private static final RedisScript<Long> PUT_IF_UNCHANGED_SCRIPT = new DefaultRedisScript<>(
+            "if (redis.call('hget', KEYS[1], 'GEN') or '0') ~= ARGV[4] then return 0 end " +
+                    "redis.call('hset', KEYS[1], ARGV[1], ARGV[2]) " +
+                    "redis.call('expire', KEYS[1], ARGV[3]) " +
+                    "return 1",
+            Long.class);
+
+    // KEYS[1] = cache key, ARGV[1] = ttl in seconds
+    private static final RedisScript<Long> EVICT_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('hdel', KEYS[1], 'BY_ID', 'BY_NAME') " +
+                    "redis.call('hincrby', KEYS[1], 'GEN', 1) " +
+                    "redis.call('expire', KEYS[1], ARGV[1]) " +
+                    "return 1",
+            Long.class);
 
     @Override
     public <T> void putById(final String id, final T value, Duration ttl) {
@@ -46,16 +93,59 @@ class RedisCacheServiceImpl implements RedisCacheService {
     }
 
     @Override
-    public <T> void putByPagination(final String id, final PaginationRequest request, final String cachePrefix, T data, Duration ttl) {
-        String cacheKey = getPaginationCacheKey(id, request, cachePrefix);
+    public <T> void putByIdIfUnchanged(final String id, final T value, final long generation, Duration ttl) {
+        String cacheKey = getCacheKey(id, value.getClass());
+        putIfUnchanged(cacheKey, BY_ID_FIELD, value, generation, ttl);
+    }
+
+    @Override
+    public <T> void putByNameIfUnchanged(final String name, final T value, final long generation, Duration ttl) {
+        String cacheKey = getCacheKey(name, value.getClass());
+        putIfUnchanged(cacheKey, BY_NAME_FIELD, value, generation, ttl);
+    }
+
+    /**
+     * @implNote One pipeline carries a conditional {@code HSET} script per value, sent with {@code EVAL}
+     * since a pipeline cannot fall back from {@code EVALSHA}. These are fills of missing entries, other
+     * nodes have no copy to drop and nothing is broadcast.
+     */
+    @Override
+    public <T> void putAllById(final Map<String, T> values, final Map<String, Long> generations, Duration ttl) {
+
+        if (values.isEmpty()) return;
+
+        byte[] expiry = seconds(ttl);
+        byte[] script = PUT_IF_UNCHANGED_SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+
+        Map<String, byte[]> encoded = new LinkedHashMap<>();
+        Map<String, byte[]> expected = new HashMap<>();
+        values.forEach((id, value) -> {
+            try {
+                String cacheKey = getCacheKey(id, value.getClass());
+                encoded.put(cacheKey, cacheValueCodec.encode(value));
+                expected.put(cacheKey, String.valueOf(generations.getOrDefault(id, 0L)).getBytes(StandardCharsets.UTF_8));
+            } catch (JacksonException e) {
+                log.error("Error when store cached data for id {}: {}", id, e.getMessage());
+            }
+        });
+
+        binaryRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            encoded.forEach((cacheKey, value) -> connection.scriptingCommands().eval(script, ReturnType.INTEGER, 1,
+                    cacheKey.getBytes(StandardCharsets.UTF_8), BY_ID_FIELD_BYTES, value, expiry, expected.get(cacheKey)));
+            return null;
+        });
+    }
+
+    @Override
+    public <T> void putByPagination(final String id, final PaginationRequest request, final String cachePrefix, long version, T data, Duration ttl) {
+        String cacheKey = getPaginationCacheKey(id, request, cachePrefix, version);
 
         try {
 
             Duration expiry = (ttl != null && !ttl.isNegative() && !ttl.isZero())
                     ? ttl : REDIS_DEFAULT_TTL;
 
-            String json = jsonMapper.writeValueAsString(data);
-            redisTemplate.opsForValue().set(cacheKey, json, expiry);
+            binaryRedisTemplate.opsForValue().set(cacheKey, cacheValueCodec.encode(data), expiry);
 
         } catch (JacksonException e) {
             log.error("Error when put pagination cached data: {}", e.getMessage());
@@ -75,35 +165,128 @@ class RedisCacheServiceImpl implements RedisCacheService {
         return get(cacheKey, BY_NAME_FIELD, clazz);
     }
 
+    @Override
+    public long getGeneration(final String identifier, final Class<?> clazz) {
+        HashOperations<String, String, byte[]> ops = binaryRedisTemplate.opsForHash();
+        return parseGeneration(ops.get(getCacheKey(identifier, clazz), GENERATION_FIELD));
+    }
+
+    /**
+     * @implNote One pipelined {@code HGET} per id.
+     */
+    @Override
+    public Map<String, Long> getGenerationsById(final Collection<String> ids, final Class<?> clazz) {
+
+        List<String> distinctIds = ids.stream().distinct().toList();
+
+        List<Object> results = binaryRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            distinctIds.forEach(id -> connection.hashCommands().hGet(getCacheKey(id, clazz).getBytes(StandardCharsets.UTF_8), GENERATION_FIELD_BYTES));
+            return null;
+        });
 
+        Map<String, Long> generations = new HashMap<>();
+        for (int i = 0; i < distinctIds.size(); i++) {
+            generations.put(distinctIds.get(i), parseGeneration(results.get(i)));
+        }
+        return generations;
+    }
+
+    /**
+     * @implNote Ids found in the near cache are not sent to Redis, the rest are read with one pipelined
+     * {@code HGET} each.
+     */
     @Override
-    public <T> T getByPagination(final String id, final PaginationRequest request, final String cachePrefix, TypeReference<T> typeRef) {
+    public <T> Map<String, T> getAllById(final Collection<String> ids, final Class<T> clazz) {
+
+        List<String> distinctIds = ids.stream().distinct().toList();
+        List<String> cacheKeys = distinctIds.stream().map(id -> getCacheKey(id, clazz)).toList();
+        Map<String, byte[]> encoded = new HashMap<>();
+        List<String> remote = new ArrayList<>();
+        Map<String, Long> generations = new HashMap<>();
+
+        for (String cacheKey : cacheKeys) {
+            generations.put(cacheKey, nearCache.generation(cacheKey));
+            nearCache.get(cacheKey, BY_ID_FIELD)
+                    .ifPresentOrElse(value -> encoded.put(cacheKey, value), () -> remote.add(cacheKey));
+        }
 
-        String cacheKey = getPaginationCacheKey(id, request, cachePrefix);
+        if (!remote.isEmpty()) {
+            List<Object> results = binaryRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                remote.forEach(cacheKey -> connection.hashCommands().hGet(cacheKey.getBytes(StandardCharsets.UTF_8), BY_ID_FIELD_BYTES));
+                return null;
+            });
+
+            for (int i = 0; i < remote.size(); i++) {
+                String cacheKey = remote.get(i);
+                boolean hit = results.get(i) instanceof byte[] value && value.length > 0;
+                nearCache.recordL2(cacheKey, hit);
+
+                if (hit) {
+                    byte[] value = (byte[]) results.get(i);
+                    encoded.put(cacheKey, value);
+                    nearCache.put(cacheKey, BY_ID_FIELD, value, generations.get(cacheKey));
+                }
+            }
+        }
+
+        Map<String, T> values = new LinkedHashMap<>();
+        for (int i = 0; i < distinctIds.size(); i++) {
+            byte[] value = encoded.get(cacheKeys.get(i));
+            if (value == null) continue;
+
+            try {
+                T decoded = cacheValueCodec.decode(value, clazz);
+                if (decoded != null) values.put(distinctIds.get(i), decoded);
+            } catch (JacksonException | IllegalStateException e) {
+                log.error("Error when retrieve cached data: {}", e.getMessage());
+            }
+        }
 
+        return values;
+    }
 
-        String stringJson = redisTemplate.opsForValue().get(cacheKey);
+    /**
+     * @implNote The version read, its initialization on first use and the page read run in one Lua script,
+     * a single round trip. The page key is derived inside the script, which assumes a standalone Redis
+     * (the two keys are not guaranteed to share a cluster slot).
+     */
+    @Override
+    public <T> VersionedPage<T> getByPagination(final String id, final PaginationRequest request, final String cachePrefix, TypeReference<T> typeRef) {
 
-        if (stringJson == null) return null;
+        String versionKey = String.format(VERSION_KEY, cachePrefix, id);
+        String pageKeyPrefix = cachePrefix + id + ":v";
+        String pageKeySuffix = getPaginationCacheKeySuffix(request);
+
+        // Arguments and results go through the byte[] serializer of the binary template
+        List<?> result = binaryRedisTemplate.execute(VERSIONED_PAGE_SCRIPT, List.of(versionKey),
+                pageKeyPrefix.getBytes(StandardCharsets.UTF_8), pageKeySuffix.getBytes(StandardCharsets.UTF_8));
+
+        long version = result != null && !result.isEmpty() && result.get(0) instanceof byte[] bytes
+                ? Long.parseLong(new String(bytes, StandardCharsets.UTF_8)) : 1L;
+        byte[] page = result != null && result.size() > 1 && result.get(1) instanceof byte[] bytes ? bytes : null;
+
+        if (page == null) return new VersionedPage<>(version, null);
 
         try {
-            return jsonMapper.readValue(stringJson, typeRef);
-        } catch (JacksonException e) {
+            return new VersionedPage<>(version, cacheValueCodec.decode(page, typeRef));
+        } catch (JacksonException | IllegalStateException e) {
             log.error("Error when retrieving caching pagination data: {}", e.getMessage());
-            return null;
+            return new VersionedPage<>(version, null);
         }
     }
 
+    /**
+     * @implNote The key keeps its bumped generation for a minute, so a load started before the delete is
+     * not stored after it.
+     */
     @Override
     public void deleteById(final String id, final Class<?> clazz) {
-        String cacheKey = getCacheKey(id, clazz);
-        redisTemplate.delete(cacheKey);
+        evict(getCacheKey(id, clazz));
     }
 
     @Override
     public void deleteByName(final String name, final Class<?> clazz) {
-        String cacheKey = getCacheKey(name, clazz);
-        redisTemplate.delete(cacheKey);
+        evict(getCacheKey(name, clazz));
     }
 
     @Override
@@ -112,19 +295,34 @@ class RedisCacheServiceImpl implements RedisCacheService {
         redisTemplate.opsForValue().increment(versionKey);
     }
 
+    @Override
+    public <T> Optional<T> singleFlight(final String key, final Supplier<Optional<T>> cachedLookup, final Supplier<Optional<T>> loader) {
+        return singleFlight.execute(key, cachedLookup, loader);
+    }
+
     private <T> Optional<T> get(final String cacheKey, final String hashField, final Class<T> clazz) {
 
         try {
-            HashOperations<String, String, String> ops = redisTemplate.opsForHash();
-            String json = ops.get(cacheKey, hashField);
+            long generation = nearCache.generation(cacheKey);
+            byte[] encoded = nearCache.get(cacheKey, hashField).orElse(null);
+
+            if (encoded == null) {
+                HashOperations<String, String, byte[]> ops = binaryRedisTemplate.opsForHash();
+                encoded = ops.get(cacheKey, hashField);
+
+                boolean hit = encoded != null && encoded.length > 0;
+                nearCache.recordL2(cacheKey, hit);
 
-            if (json == null || json.isEmpty()) {
-                return Optional.empty();
+                if (!hit) {
+                    return Optional.empty();
+                }
+
+                nearCache.put(cacheKey, hashField, encoded, generation);
             }
 
-            T value = jsonMapper.readValue(json, clazz);
+            T value = cacheValueCodec.decode(encoded, clazz);
             return Optional.ofNullable(value);
-        } catch (JacksonException e) {
+        } catch (JacksonException | IllegalStateException e) {
             log.error("Error when retrieve cached data: {}", e.getMessage());
             return Optional.empty();
         }
@@ -133,21 +331,43 @@ class RedisCacheServiceImpl implements RedisCacheService {
     private <T> void put(final String cacheKey, final String hashField, final T data, final Duration ttl) {
 
         try {
+            binaryRedisTemplate.execute(PUT_SCRIPT, List.of(cacheKey),
+                    hashField.getBytes(StandardCharsets.UTF_8), cacheValueCodec.encode(data), seconds(ttl));
 
-            Duration expiry = (ttl != null && !ttl.isNegative() && !ttl.isZero())
-                    ? ttl : REDIS_DEFAULT_TTL;
+            // Other nodes may hold the previous value, the next read here loads it from Redis
+            nearCache.invalidate(cacheKey);
 
-            String json = jsonMapper.writeValueAsString(data);
-            HashOperations<String, String, String> ops = redisTemplate.opsForHash();
-            ops.put(cacheKey, hashField, json);
+        } catch (JacksonException e) {
+            log.error("Error when store cached data: {}", e.getMessage());
+        }
+    }
 
-            redisTemplate.expire(cacheKey, expiry);
+    private <T> void putIfUnchanged(final String cacheKey, final String hashField, final T data, final long generation, final Duration ttl) {
 
+        try {
+            binaryRedisTemplate.execute(PUT_IF_UNCHANGED_SCRIPT, List.of(cacheKey),
+                    hashField.getBytes(StandardCharsets.UTF_8), cacheValueCodec.encode(data), seconds(ttl),
+                    String.valueOf(generation).getBytes(StandardCharsets.UTF_8));
         } catch (JacksonException e) {
             log.error("Error when store cached data: {}", e.getMessage());
         }
     }
 
+    private void evict(final String cacheKey) {
+        binaryRedisTemplate.execute(EVICT_SCRIPT, List.of(cacheKey), seconds(EVICTED_GENERATION_TTL));
+        nearCache.invalidate(cacheKey);
+    }
+
+    private static byte[] seconds(final Duration ttl) {
+        Duration expiry = (ttl != null && !ttl.isNegative() && !ttl.isZero()) ? ttl : REDIS_DEFAULT_TTL;
+        return String.valueOf(expiry.toSeconds()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long parseGeneration(final Object value) {
+        return value instanceof byte[] bytes && bytes.length > 0
+                ? Long.parseLong(new String(bytes, StandardCharsets.UTF_8)) : 0L;
+    }
+
     /**
      * @param identifier unique(ObjectId) id or username
      */
@@ -170,37 +390,26 @@ class RedisCacheServiceImpl implements RedisCacheService {
         }
     }
 
-    private String getPaginationCacheKey(final String id, PaginationRequest request, final String cachePrefix) {
+    private String getPaginationCacheKey(final String id, PaginationRequest request, final String cachePrefix, long version) {
+        return cachePrefix + id + ":v" + version + getPaginationCacheKeySuffix(request);
+    }
+
+    private String getPaginationCacheKeySuffix(PaginationRequest request) {
 
         PaginationRequest paginationRequest = PaginationRequest.builder()
                 .page(request.getPage())
                 .size(request.getSize())
                 .isNewest(request.getIsNewest())
                 .sortBy(request.getSortBy())
+                .withTotal(request.getWithTotal())
                 .build();
 
-        long version = getVersion(id, cachePrefix);
-
-
-        return String.format(CACHE_PAGINATION_FORMAT,
-                cachePrefix, id, version, paginationRequest.getPage(),
+        return String.format(CACHE_PAGINATION_SUFFIX_FORMAT,
+                paginationRequest.getPage(),
                 paginationRequest.getSize(),
                 paginationRequest.getSortBy(),
-                paginationRequest.getIsNewest());
-    }
-
-
-    private long getVersion(String id, String cachePrefix) {
-        String versionKey = String.format(VERSION_KEY, cachePrefix, id);
-
-        String version = redisTemplate.opsForValue().get(versionKey);
-
-        if (version == null) {
-            redisTemplate.opsForValue().set(versionKey, "1");
-            return 1L;
-        }
-
-        return Long.parseLong(version);
+                paginationRequest.getIsNewest(),
+                paginationRequest.getWithTotal());
     }
 
 
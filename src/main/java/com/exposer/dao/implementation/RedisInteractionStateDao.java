@@ -0,0 +1,203 @@
+package com.exposer.dao.implementation;
+
+import com.exposer.dao.interfaces.InteractionStateDao;
+import com.exposer.models.entity.Like;
+import com.exposer.models.entity.SavedPost;
+import com.mongodb.DBRef;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.exposer.constants.RedisConstants.LIKE_CACHE_PREFIX;
+import static com.exposer.constants.RedisConstants.SAVED_POST_CACHE_PREFIX;
+
+/**
+ * Liked target ids and saved post ids of a user, kept in one Redis set per user and kind.
+ *
+ * @implNote <ol>
+ *   <li>A set is loaded from Mongo on first use and holds a {@code *} marker, so a batch is answered
+ *   with a single {@code SMISMEMBER}, which also tells a missing set from an empty one.</li>
+ *   <li>Users with more than {@code interaction-state.max-members} entries are not cached, their set only
+ *   holds a {@code #} marker for {@code interaction-state.ttl} and their batches are answered by one
+ *   {@code $in} query.</li>
+ *   <li>Writes update a set only if it is loaded. A write racing with a first load can be missed,
+ *   the set expires after {@code interaction-state.ttl} to bound that.</li>
+ * </ol>
+ */
+@Slf4j
+@Repository
+class RedisInteractionStateDao implements InteractionStateDao {
+
+    private static final String LIKED_KEY_FORMAT = LIKE_CACHE_PREFIX + "user:%s:targets";
+    private static final String SAVED_KEY_FORMAT = SAVED_POST_CACHE_PREFIX + "user:%s:posts";
+    private static final String LOADED_MARKER = "*";
+    private static final String OVERSIZED_MARKER = "#";
+
+    // Members per script call, unpack() is bounded by the Lua stack size
+    private static final int MEMBERS_PER_CALL = 1000;
+
+    // KEYS[1] = set key, ARGV[1] = sadd / srem, ARGV[2..n] = members
+    private static final RedisScript<Long> UPDATE_IF_LOADED_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('sismember', KEYS[1], '" + LOADED_MARKER + "') == 1 then "
+                    + "return redis.call(ARGV[1], KEYS[1], unpack(ARGV, 2)) end return 0",
+            Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final MongoTemplate mongoTemplate;
+    private final int maxMembers;
+    private final Duration ttl;
+
+    RedisInteractionStateDao(RedisTemplate<String, String> redisTemplate,
+                             MongoTemplate mongoTemplate,
+                             @Value("${interaction-state.max-members:5000}") int maxMembers,
+                             @Value("${interaction-state.ttl:30m}") Duration ttl) {
+
+        this.redisTemplate = redisTemplate;
+        this.mongoTemplate = mongoTemplate;
+        this.maxMembers = maxMembers;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public Set<String> likedAmong(String userId, Collection<String> targetIds) {
+        return among(String.format(LIKED_KEY_FORMAT, userId), targetIds, only -> likedTargets(userId, only));
+    }
+
+    @Override
+    public Set<String> savedAmong(String userId, Collection<String> postIds) {
+        return among(String.format(SAVED_KEY_FORMAT, userId), postIds, only -> savedPosts(userId, only));
+    }
+
+    @Override
+    public void recordLike(String userId, String targetId, boolean liked) {
+        update(String.format(LIKED_KEY_FORMAT, userId), targetId, liked);
+    }
+
+    @Override
+    public void recordLikes(Map<String, ? extends Collection<String>> targetsByUser) {
+
+        if (targetsByUser.isEmpty()) return;
+
+        // EVALSHA cannot fall back to EVAL inside a pipeline, the script is sent as is
+        byte[] script = UPDATE_IF_LOADED_SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+        byte[] sadd = "sadd".getBytes(StandardCharsets.UTF_8);
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            targetsByUser.forEach((userId, targetIds) -> {
+                byte[] key = String.format(LIKED_KEY_FORMAT, userId).getBytes(StandardCharsets.UTF_8);
+                List<String> members = List.copyOf(targetIds);
+
+                for (int from = 0; from < members.size(); from += MEMBERS_PER_CALL) {
+                    Stream<byte[]> args = members.subList(from, Math.min(from + MEMBERS_PER_CALL, members.size())).stream()
+                            .map(member -> member.getBytes(StandardCharsets.UTF_8));
+                    byte[][] keysAndArgs = Stream.concat(Stream.of(key, sadd), args).toArray(byte[][]::new);
+                    connection.scriptingCommands().eval(script, ReturnType.INTEGER, 1, keysAndArgs);
+                }
+            });
+            return null;
+        });
+    }
+
+    @Override
+    public void recordSave(String userId, String postId, boolean saved) {
+        update(String.format(SAVED_KEY_FORMAT, userId), postId, saved);
+    }
+
+    /**
+     * @param loader loads the user's ids among the given ones, or all of them (capped) when given null
+     */
+    private Set<String> among(String key, Collection<String> ids, Function<Collection<String>, List<String>> loader) {
+
+        List<String> distinct = ids.stream().distinct().toList();
+        if (distinct.isEmpty()) return Set.of();
+
+        Object[] members = Stream.concat(Stream.of(LOADED_MARKER, OVERSIZED_MARKER), distinct.stream()).toArray();
+        Map<Object, Boolean> flags = redisTemplate.opsForSet().isMember(key, members);
+
+        if (flags != null && Boolean.TRUE.equals(flags.get(LOADED_MARKER))) {
+            return retain(distinct, id -> Boolean.TRUE.equals(flags.get(id)));
+        }
+
+        if (flags == null || !Boolean.TRUE.equals(flags.get(OVERSIZED_MARKER))) {
+            List<String> all = loader.apply(null);
+            if (all.size() <= maxMembers) {
+                populate(key, all);
+                Set<String> lookup = new HashSet<>(all);
+                return retain(distinct, lookup::contains);
+            }
+
+            log.debug("Interaction set {} exceeds {} entries, answering from Mongo", key, maxMembers);
+            redisTemplate.opsForSet().add(key, OVERSIZED_MARKER);
+            redisTemplate.expire(key, ttl);
+        }
+
+        Set<String> found = new HashSet<>(loader.apply(distinct));
+        return retain(distinct, found::contains);
+    }
+
+    private Set<String> retain(List<String> ids, Predicate<String> member) {
+        return ids.stream().filter(member).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private void populate(String key, List<String> ids) {
+        String[] members = Stream.concat(Stream.of(LOADED_MARKER), ids.stream()).toArray(String[]::new);
+        redisTemplate.opsForSet().add(key, members);
+        redisTemplate.expire(key, ttl);
+    }
+
+    private void update(String key, String member, boolean present) {
+        redisTemplate.execute(UPDATE_IF_LOADED_SCRIPT, List.of(key), present ? "sadd" : "srem", member);
+    }
+
+    private List<String> likedTargets(String userId, Collection<String> only) {
+
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (only != null) criteria.and("targetId").in(only);
+
+        Query query = new Query(criteria);
+        query.fields().include("targetId");
+        if (only == null) query.limit(maxMembers + 1);
+
+        return mongoTemplate.find(query, Like.class).stream()
+                .map(Like::getTargetId)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private List<String> savedPosts(String userId, Collection<String> only) {
+
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (only != null) {
+            criteria.and("post.$id").in(only.stream().filter(ObjectId::isValid).map(ObjectId::new).toList());
+        }
+
+        Query query = new Query(criteria);
+        query.fields().include("post");
+        if (only == null) query.limit(maxMembers + 1);
+
+        // Read raw, mapping SavedPost would wrap each reference in a lazy proxy
+        String collection = mongoTemplate.getCollectionName(SavedPost.class);
+        return mongoTemplate.find(query, Document.class, collection).stream()
+                .map(document -> document.get("post") instanceof DBRef ref ? ref.getId().toString() : null)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
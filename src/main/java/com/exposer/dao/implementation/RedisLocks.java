@@ -0,0 +1,48 @@
+package com.exposer.dao.implementation;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Redis locks letting a single node run a scheduled or startup job.
+ *
+ * @implNote Each acquisition stores a random token and the release deletes the key only while it still
+ * holds that token, so a run outliving its TTL cannot release the lock of the node that took it over.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class RedisLocks {
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    /**
+     * @return the token to release the lock with, empty if another node holds it
+     */
+    Optional<String> tryAcquire(final String lockKey, final Duration ttl) {
+        String token = UUID.randomUUID().toString();
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(lockKey, token, ttl);
+        return Boolean.TRUE.equals(acquired) ? Optional.of(token) : Optional.empty();
+    }
+
+    void release(final String lockKey, final String token) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(lockKey), token);
+        } catch (RuntimeException e) {
+            log.warn("Error when releasing lock {}, it expires with its TTL: {}", lockKey, e.getMessage());
+        }
+    }
+}
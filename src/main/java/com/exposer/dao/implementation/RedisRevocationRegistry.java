@@ -0,0 +1,178 @@
+package com.exposer.dao.implementation;
+
+import com.exposer.dao.interfaces.RevocationRegistry;
+import com.exposer.models.entity.User;
+import com.exposer.models.entity.enums.AccountStatus;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import static com.exposer.constants.RedisConstants.REVOCATION_CHANNEL;
+import static com.exposer.constants.RedisConstants.REVOKED_USERS_KEY;
+
+/**
+ * Ids of banned, deactivated and deleted users, mirrored in memory from a Redis set.
+ *
+ * @implNote The Redis set is the source of truth. Changes are broadcast on {@code auth:revocation}
+ * as {@code +id} / {@code -id} so every node applies them right away, and the full set is re-read
+ * periodically to recover from missed messages.
+ * <p>
+ * A {@code *} member marks a set seeded from the banned and deactivated users in Mongo. When it is missing,
+ * at startup or after Redis lost the key, every node adds those users to its local set and one node, holding
+ * a lock, seeds the Redis set again; local entries are never dropped for a set that is not seeded. Deleted
+ * users are not in Mongo anymore, so their ids do not survive the loss of the key.
+ * <p>
+ * Local changes, received messages and applying a re-read set share one lock, so a change made or received
+ * while the set is read is applied after it and never undone by the older snapshot.
+ */
+@Slf4j
+@Repository
+class RedisRevocationRegistry implements RevocationRegistry, MessageListener {
+
+    private static final String SEEDED_MARKER = "*";
+    private static final String SEED_LOCK_KEY = REVOKED_USERS_KEY + ":seed-lock";
+    private static final Duration SEED_LOCK_TTL = Duration.ofMinutes(5);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final MongoTemplate mongoTemplate;
+    private final RedisLocks redisLocks;
+
+    private final Set<String> revoked = ConcurrentHashMap.newKeySet();
+    private final Lock changeLock = new ReentrantLock();
+
+    RedisRevocationRegistry(RedisTemplate<String, String> redisTemplate,
+                            RedisMessageListenerContainer listenerContainer,
+                            MongoTemplate mongoTemplate,
+                            RedisLocks redisLocks) {
+
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.mongoTemplate = mongoTemplate;
+        this.redisLocks = redisLocks;
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(REVOCATION_CHANNEL));
+    }
+
+    @Override
+    public boolean isRevoked(String userId) {
+        return userId != null && revoked.contains(userId);
+    }
+
+    @Override
+    public void revoke(String userId) {
+        changeLock.lock();
+        try {
+            revoked.add(userId);
+            redisTemplate.opsForSet().add(REVOKED_USERS_KEY, userId);
+        } finally {
+            changeLock.unlock();
+        }
+        redisTemplate.convertAndSend(REVOCATION_CHANNEL, "+" + userId);
+    }
+
+    @Override
+    public void restore(String userId) {
+        changeLock.lock();
+        try {
+            revoked.remove(userId);
+            redisTemplate.opsForSet().remove(REVOKED_USERS_KEY, userId);
+        } finally {
+            changeLock.unlock();
+        }
+        redisTemplate.convertAndSend(REVOCATION_CHANNEL, "-" + userId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${auth.revocation.sync-interval:30s}", initialDelayString = "${auth.revocation.sync-interval:30s}")
+    void sync() {
+        try {
+            Set<String> members;
+            boolean seeded;
+
+            changeLock.lock();
+            try {
+                members = redisTemplate.opsForSet().members(REVOKED_USERS_KEY);
+                seeded = members != null && members.remove(SEEDED_MARKER);
+
+                if (seeded) revoked.retainAll(members);
+                if (members != null) revoked.addAll(members);
+            } finally {
+                changeLock.unlock();
+            }
+
+            if (!seeded) seed();
+        } catch (RuntimeException e) {
+            log.warn("Could not sync revoked users, keeping {} local entries: {}", revoked.size(), e.getMessage());
+        }
+    }
+
+    private void seed() {
+
+        List<String> fromMongo = revokedInMongo();
+        revoked.addAll(fromMongo);
+
+        Optional<String> lockToken = redisLocks.tryAcquire(SEED_LOCK_KEY, SEED_LOCK_TTL);
+        if (lockToken.isEmpty()) {
+            log.debug("Revoked users seeding skipped, another node holds the lock");
+            return;
+        }
+
+        try {
+            String[] seeded = Stream.concat(Stream.of(SEEDED_MARKER), fromMongo.stream()).toArray(String[]::new);
+            redisTemplate.opsForSet().add(REVOKED_USERS_KEY, seeded);
+            log.info("Seeded revoked users with {} banned or deactivated accounts", fromMongo.size());
+        } finally {
+            redisLocks.release(SEED_LOCK_KEY, lockToken.get());
+        }
+    }
+
+    private List<String> revokedInMongo() {
+
+        Query query = new Query(Criteria.where("accountStatus").in(AccountStatus.BANNED, AccountStatus.DEACTIVATED));
+        query.fields().include("_id");
+
+        return mongoTemplate.find(query, User.class).stream()
+                .map(User::getId)
+                .toList();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (body.length() < 2) return;
+
+        String userId = body.substring(1);
+        changeLock.lock();
+        try {
+            if (body.charAt(0) == '+') revoked.add(userId);
+            else revoked.remove(userId);
+        } finally {
+            changeLock.unlock();
+        }
+    }
+}
@@ -6,8 +6,8 @@ import com.exposer.models.dto.request.PaginationRequest;
 import com.exposer.models.entity.SavedPost;
 import com.exposer.utils.CommonUtil;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Repository;
 
 
@@ -18,6 +18,9 @@ import java.util.Optional;
 class SavedPostDaoImpl implements SavedPostDao {
 
     private final SavedPostRepository savedPostRepository;
+    private final KeysetPager keysetPager;
+    private final OffsetPager offsetPager;
+    private final DbRefBatchResolver dbRefBatchResolver;
 
 
     @Override
@@ -41,19 +44,24 @@ class SavedPostDaoImpl implements SavedPostDao {
     }
 
     @Override
-    public Page<SavedPost> findAll(PaginationRequest request) {
+    public Slice<SavedPost> findAll(PaginationRequest request) {
 
-        Pageable pageable = CommonUtil.toBuildSortAndPage(request);
+        if (CommonUtil.isCursorRequest(request)) {
+            return dbRefBatchResolver.withPosts(keysetPager.find(null, request, SavedPost.class));
+        }
 
-        return savedPostRepository.findAll(pageable);
+        return dbRefBatchResolver.withPosts(offsetPager.find(null, request, SavedPost.class));
 
     }
 
     @Override
-    public Page<SavedPost> findByUser(String userId, PaginationRequest request) {
+    public Slice<SavedPost> findByUser(String userId, PaginationRequest request) {
 
-        Pageable pageable = CommonUtil.toBuildSortAndPage(request);
-        return savedPostRepository.findByUserId(userId, pageable);
+        if (CommonUtil.isCursorRequest(request)) {
+            return dbRefBatchResolver.withPosts(keysetPager.find(Criteria.where("userId").is(userId), request, SavedPost.class));
+        }
+
+        return dbRefBatchResolver.withPosts(offsetPager.find(Criteria.where("userId").is(userId), request, SavedPost.class));
     }
 
     @Override
@@ -0,0 +1,170 @@
+package com.exposer.dao.implementation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Makes sure only one loader per key runs at a time.
+ *
+ * @implNote <ol>
+ *   <li>On a node, the first caller for a key becomes the leader and later callers wait on its future.</li>
+ *   <li>When {@code cache.single-flight.lease-enabled} is set, the leader also takes a short
+ *   Redis {@code SET NX} lease. Leaders on other nodes that lose the race poll the cache until the
+ *   value appears and load it themselves once {@code lease-wait} runs out (fail open).</li>
+ * </ol>
+ */
+@Slf4j
+@Component
+class SingleFlight {
+
+    private static final String LEASE_KEY_PREFIX = "single-flight:";
+    private static final String METRIC_NAME = "exposer.cache.single-flight";
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(25);
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final boolean leaseEnabled;
+    private final Duration leaseTtl;
+    private final Duration leaseWait;
+    private final Map<String, CompletableFuture<Optional<?>>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter leaders;
+    private final Counter localWaiters;
+    private final Counter remoteWaiters;
+    private final Counter leaseTimeouts;
+
+    SingleFlight(RedisTemplate<String, String> redisTemplate,
+                 MeterRegistry meterRegistry,
+                 @Value("${cache.single-flight.lease-enabled:false}") boolean leaseEnabled,
+                 @Value("${cache.single-flight.lease-ttl:5s}") Duration leaseTtl,
+                 @Value("${cache.single-flight.lease-wait:500ms}") Duration leaseWait) {
+
+        this.redisTemplate = redisTemplate;
+        this.leaseEnabled = leaseEnabled;
+        this.leaseTtl = leaseTtl;
+        this.leaseWait = leaseWait;
+
+        this.leaders = counter(meterRegistry, "leader");
+        this.localWaiters = counter(meterRegistry, "local-waiter");
+        this.remoteWaiters = counter(meterRegistry, "remote-waiter");
+        this.leaseTimeouts = counter(meterRegistry, "lease-timeout");
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> Optional<T> execute(final String key, final Supplier<Optional<T>> cachedLookup, final Supplier<Optional<T>> loader) {
+
+        CompletableFuture<Optional<?>> own = new CompletableFuture<>();
+        CompletableFuture<Optional<?>> existing = inFlight.putIfAbsent(key, own);
+
+        if (existing != null) {
+            localWaiters.increment();
+            try {
+                return (Optional<T>) existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) throw cause;
+                throw e;
+            }
+        }
+
+        try {
+            // The previous leader may have populated the cache between our miss and now
+            Optional<T> value = cachedLookup.get().or(() -> loadUnderLease(key, cachedLookup, loader));
+            own.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    private <T> Optional<T> loadUnderLease(final String key, final Supplier<Optional<T>> cachedLookup, final Supplier<Optional<T>> loader) {
+
+        if (!leaseEnabled) {
+            leaders.increment();
+            return loader.get();
+        }
+
+        String leaseKey = LEASE_KEY_PREFIX + key;
+        String token = UUID.randomUUID().toString();
+
+        if (tryAcquire(leaseKey, token)) {
+            leaders.increment();
+            try {
+                return loader.get();
+            } finally {
+                release(leaseKey, token);
+            }
+        }
+
+        remoteWaiters.increment();
+        return awaitRemoteLoad(cachedLookup).or(() -> {
+            leaseTimeouts.increment();
+            return loader.get();
+        });
+    }
+
+    private <T> Optional<T> awaitRemoteLoad(final Supplier<Optional<T>> cachedLookup) {
+
+        long deadline = System.nanoTime() + leaseWait.toNanos();
+
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(POLL_INTERVAL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Optional.empty();
+            }
+
+            Optional<T> value = cachedLookup.get();
+            if (value.isPresent()) return value;
+        }
+
+        return Optional.empty();
+    }
+
+    private boolean tryAcquire(final String leaseKey, final String token) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(leaseKey, token, leaseTtl));
+        } catch (RuntimeException e) {
+            // Redis unavailable, load without the lease rather than failing the read
+            log.warn("Error when acquiring single-flight lease {}: {}", leaseKey, e.getMessage());
+            return true;
+        }
+    }
+
+    private void release(final String leaseKey, final String token) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(leaseKey), token);
+        } catch (RuntimeException e) {
+            log.warn("Error when releasing single-flight lease {}: {}", leaseKey, e.getMessage());
+        }
+    }
+
+    private static Counter counter(final MeterRegistry meterRegistry, final String role) {
+        return Counter.builder(METRIC_NAME)
+                .description("Cache loads coalesced by single-flight, per caller role")
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+}
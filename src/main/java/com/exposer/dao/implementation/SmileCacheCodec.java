@@ -0,0 +1,43 @@
+package com.exposer.dao.implementation;
+
+import com.exposer.dao.interfaces.CacheCodec;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+/**
+ * Binary JSON (Smile): same data model and annotations as {@link JsonCacheCodec}, with back-references
+ * for repeated property names and string values, so it is smaller and cheaper to parse.
+ */
+@Component
+class SmileCacheCodec implements CacheCodec {
+
+    private final SmileMapper smileMapper = SmileMapper.builder()
+            .findAndAddModules()
+            .build();
+
+    @Override
+    public byte id() {
+        return 2;
+    }
+
+    @Override
+    public String name() {
+        return "smile";
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        return smileMapper.writeValueAsBytes(value);
+    }
+
+    @Override
+    public <T> T decode(byte[] bytes, Class<T> type) {
+        return smileMapper.readValue(bytes, type);
+    }
+
+    @Override
+    public <T> T decode(byte[] bytes, TypeReference<T> type) {
+        return smileMapper.readValue(bytes, type);
+    }
+}
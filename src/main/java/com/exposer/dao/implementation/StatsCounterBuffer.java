@@ -0,0 +1,293 @@
+package com.exposer.dao.implementation;
+
+import com.exposer.dao.interfaces.RedisCacheService;
+import com.exposer.models.entity.AbstractEntity;
+import com.exposer.models.entity.Comment;
+import com.exposer.models.entity.CommentStats;
+import com.exposer.models.entity.Post;
+import com.exposer.models.entity.PostStats;
+import com.exposer.models.entity.enums.LikeType;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.exposer.constants.RedisConstants.STATS_FLUSH_ACK_PREFIX;
+import static com.exposer.constants.RedisConstants.STATS_FLUSH_CHANNEL;
+
+/**
+ * Write-behind buffer for post and comment counters.
+ *
+ * @implNote <p>
+ * Likes (with their per reaction type counts), saves, comments and replies only add a delta in memory.
+ * Every {@code stats.flush-interval} the pending deltas are written as one unordered bulk of {@code $inc}
+ * updates, one per document, and the cached entries of the flushed documents are evicted once. Reads
+ * served by the DAOs return a copy merging the delta still pending on this node, so counters do not lag
+ * behind the user's own action. Updates carrying a negative delta floor the counters at zero.</p>
+ * <p>
+ * Deltas are kept in a {@link ConcurrentHashMap} updated with {@code merge}, so a flush can take
+ * and remove an entry atomically without losing a concurrent increment. Pending deltas are flushed
+ * on shutdown; a crash loses at most one interval of counts.</p>
+ * <p>
+ * A request id published on {@code stats:flush} makes every node flush right away and acknowledge by
+ * incrementing {@code stats:flush-ack:<id>}, so the counter reconciliation can drain all nodes first.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class StatsCounterBuffer implements MessageListener {
+
+    private static final Duration FLUSH_ACK_TTL = Duration.ofMinutes(1);
+
+    static final String POST_LIKE_COUNT = "postStats.likeCount";
+    static final String POST_COMMENT_COUNT = "postStats.commentCount";
+    static final String POST_SAVE_COUNT = "postStats.saveCount";
+    static final String COMMENT_LIKE_COUNT = "stats.likeCount";
+    static final String COMMENT_REPLY_COUNT = "replyCount";
+    static final String POST_REACTION_COUNTS = "postStats.reactionCounts";
+    static final String COMMENT_REACTION_COUNTS = "stats.reactionCounts";
+
+    private final MongoTemplate mongoTemplate;
+    private final RedisCacheService redisCacheService;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final ConcurrentMap<StatKey, Long> postDeltas = new ConcurrentHashMap<>();
+    private final ConcurrentMap<StatKey, Long> commentDeltas = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(STATS_FLUSH_CHANNEL));
+    }
+
+    void incrementPost(final String postId, final String field, final long delta) {
+        postDeltas.merge(new StatKey(postId, field), delta, Long::sum);
+    }
+
+    void incrementComment(final String commentId, final String field, final long delta) {
+        commentDeltas.merge(new StatKey(commentId, field), delta, Long::sum);
+    }
+
+    /**
+     * Moves the like count and the count of the like's reaction type together.
+     */
+    void incrementPostLike(final String postId, final LikeType likeType, final long delta) {
+        incrementPost(postId, POST_LIKE_COUNT, delta);
+        if (likeType != null) incrementPost(postId, reactionField(POST_REACTION_COUNTS, likeType), delta);
+    }
+
+    void incrementCommentLike(final String commentId, final LikeType likeType, final long delta) {
+        incrementComment(commentId, COMMENT_LIKE_COUNT, delta);
+        if (likeType != null) incrementComment(commentId, reactionField(COMMENT_REACTION_COUNTS, likeType), delta);
+    }
+
+    /**
+     * @return a copy of {@code post} carrying the deltas pending on this node, for responses only
+     * @implNote The copy must never be saved: its counters would overwrite the flushes of other nodes.
+     */
+    Post applyPending(final Post post) {
+
+        if (postDeltas.isEmpty()) return post;
+
+        PostStats current = post.getPostStats() == null ? new PostStats() : post.getPostStats();
+        long comments = pending(postDeltas, post.getId(), POST_COMMENT_COUNT);
+
+        PostStats stats = PostStats.builder()
+                .likeCount(current.getLikeCount() + pending(postDeltas, post.getId(), POST_LIKE_COUNT))
+                .saveCount(current.getSaveCount() + pending(postDeltas, post.getId(), POST_SAVE_COUNT))
+                .commentCount(current.getCommentCount() + comments)
+                .reactionCounts(withPending(current.getReactionCounts(), postDeltas, post.getId(), POST_REACTION_COUNTS))
+                .build();
+
+        Post copy = post.toBuilder()
+                .postStats(stats)
+                .hasComments(post.isHasComments() || comments > 0)
+                .build();
+        return copyAudit(post, copy);
+    }
+
+    /**
+     * @return a copy of {@code comment} carrying the deltas pending on this node, for responses only
+     */
+    Comment applyPending(final Comment comment) {
+
+        if (commentDeltas.isEmpty()) return comment;
+
+        CommentStats current = comment.getStats() == null ? new CommentStats() : comment.getStats();
+
+        CommentStats stats = CommentStats.builder()
+                .likeCount(current.getLikeCount() + pending(commentDeltas, comment.getId(), COMMENT_LIKE_COUNT))
+                .reportCount(current.getReportCount())
+                .reactionCounts(withPending(current.getReactionCounts(), commentDeltas, comment.getId(), COMMENT_REACTION_COUNTS))
+                .build();
+
+        Comment copy = comment.toBuilder()
+                .stats(stats)
+                .replyCount((int) (comment.getReplyCount() + pending(commentDeltas, comment.getId(), COMMENT_REPLY_COUNT)))
+                .build();
+        return copyAudit(comment, copy);
+    }
+
+    @Scheduled(fixedDelayString = "${stats.flush-interval:5s}")
+    void flush() {
+        flush(postDeltas, Post.class);
+        flush(commentDeltas, Comment.class);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String ackKey = STATS_FLUSH_ACK_PREFIX + new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            flush();
+            redisTemplate.opsForValue().increment(ackKey);
+            redisTemplate.expire(ackKey, FLUSH_ACK_TTL);
+        } catch (RuntimeException e) {
+            log.error("Requested counter flush failed, not acknowledging {}: {}", ackKey, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        log.info("Flushing pending post and comment counters before shutdown");
+        flush();
+    }
+
+    private void flush(final ConcurrentMap<StatKey, Long> deltas, final Class<?> entity) {
+
+        if (deltas.isEmpty()) return;
+
+        Map<String, Map<String, Long>> byId = new LinkedHashMap<>();
+        for (StatKey key : deltas.keySet()) {
+            Long delta = deltas.remove(key);
+            if (delta != null && delta != 0) {
+                byId.computeIfAbsent(key.id(), _ -> new HashMap<>()).put(key.field(), delta);
+            }
+        }
+
+        if (byId.isEmpty()) return;
+
+        List<String> ids = new ArrayList<>(byId.keySet());
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entity);
+
+        for (String id : ids) {
+            Map<String, Long> fields = byId.get(id);
+            bulk.updateOne(Query.query(Criteria.where("_id").is(id)), toUpdate(fields));
+        }
+
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            // Unordered: everything except the reported writes was applied
+            log.error("Counter flush for {} had {} failed writes", entity.getSimpleName(), e.getErrors().size());
+            for (BulkWriteError error : e.getErrors()) {
+                String id = ids.get(error.getIndex());
+                requeue(deltas, id, byId.get(id));
+            }
+        } catch (RuntimeException e) {
+            log.error("Counter flush for {} failed, re-queueing {} documents: {}", entity.getSimpleName(), ids.size(), e.getMessage());
+            byId.forEach((id, fields) -> requeue(deltas, id, fields));
+            return;
+        }
+
+        ids.forEach(id -> redisCacheService.deleteById(id, entity));
+        log.debug("Flushed counters of {} {} documents", ids.size(), entity.getSimpleName());
+    }
+
+    /**
+     * Plain {@code $inc} when every delta is positive, otherwise a pipeline update that floors the counters at zero.
+     */
+    private UpdateDefinition toUpdate(final Map<String, Long> fields) {
+
+        boolean comments = fields.getOrDefault(POST_COMMENT_COUNT, 0L) > 0;
+
+        if (fields.values().stream().allMatch(delta -> delta > 0)) {
+            Update update = new Update();
+            fields.forEach(update::inc);
+            if (comments) update.set("hasComments", true);
+            return update;
+        }
+
+        Document set = new Document();
+        fields.forEach((field, delta) -> set.append(field, new Document("$max", List.of(0L,
+                new Document("$add", List.of(new Document("$ifNull", Arrays.asList("$" + field, 0L)), delta))))));
+        if (comments) set.append("hasComments", true);
+
+        AggregationOperation setStage = _ -> new Document("$set", set);
+        return AggregationUpdate.from(List.of(setStage));
+    }
+
+    private void requeue(final ConcurrentMap<StatKey, Long> deltas, final String id, final Map<String, Long> fields) {
+        fields.forEach((field, delta) -> deltas.merge(new StatKey(id, field), delta, Long::sum));
+    }
+
+    private static <E extends AbstractEntity> E copyAudit(final AbstractEntity from, final E to) {
+        to.setId(from.getId());
+        to.setCreatedAt(from.getCreatedAt());
+        to.setCreatedBy(from.getCreatedBy());
+        to.setUpdatedAt(from.getUpdatedAt());
+        to.setUpdatedBy(from.getUpdatedBy());
+        return to;
+    }
+
+    private Map<LikeType, Long> withPending(final Map<LikeType, Long> counts, final ConcurrentMap<StatKey, Long> deltas,
+                                            final String id, final String prefix) {
+
+        Map<LikeType, Long> merged = new EnumMap<>(LikeType.class);
+        if (counts != null) merged.putAll(counts);
+
+        for (LikeType type : LikeType.values()) {
+            long delta = pending(deltas, id, reactionField(prefix, type));
+            if (delta != 0 && merged.merge(type, delta, Long::sum) <= 0) merged.remove(type);
+        }
+        return merged;
+    }
+
+    private static String reactionField(final String prefix, final LikeType type) {
+        return prefix + "." + type.name();
+    }
+
+    long pendingPost(final String postId, final String field) {
+        return pending(postDeltas, postId, field);
+    }
+
+    long pendingComment(final String commentId, final String field) {
+        return pending(commentDeltas, commentId, field);
+    }
+
+    private long pending(final ConcurrentMap<StatKey, Long> deltas, final String id, final String field) {
+        return deltas.getOrDefault(new StatKey(id, field), 0L);
+    }
+
+    private record StatKey(String id, String field) {
+    }
+}
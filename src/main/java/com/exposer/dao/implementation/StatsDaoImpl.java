@@ -0,0 +1,316 @@
+package com.exposer.dao.implementation;
+
+import com.exposer.dao.interfaces.RedisCacheService;
+import com.exposer.dao.interfaces.StatsDao;
+import com.exposer.models.entity.Comment;
+import com.exposer.models.entity.Like;
+import com.exposer.models.entity.Post;
+import com.exposer.models.entity.enums.LikeType;
+import com.exposer.models.entity.enums.TargetType;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static com.exposer.constants.RedisConstants.REACTION_COUNTS_PREFIX;
+import static com.exposer.dao.implementation.StatsCounterBuffer.COMMENT_REACTION_COUNTS;
+import static com.exposer.dao.implementation.StatsCounterBuffer.POST_REACTION_COUNTS;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
+
+/**
+ * Reaction type breakdowns of posts and comments.
+ *
+ * @implNote <ol>
+ *   <li>The breakdown lives in the stats sub-document, kept by {@link StatsCounterBuffer}, and is mirrored
+ *   in a Redis hash per target updated with {@code HINCRBY} on every like, so it is current across nodes
+ *   before the counters are flushed. A missing hash is loaded with a {@code $group} over the target's likes;
+ *   a {@code *} field marks a loaded hash so targets without likes are cached too.</li>
+ *   <li>{@link #rebuildReactionCounts()} groups the whole likes collection by target and reaction type and
+ *   rewrites the breakdowns and their mirrors in chunks, then walks the posts and comments with a breakdown
+ *   to clear the ones left without likes. A like whose delta is still buffered on some node when its target
+ *   is rewritten is counted twice until the next rebuild.</li>
+ *   <li>A mirror is replaced by one script, so an {@code HINCRBY} cannot land between its delete and its
+ *   rewrite. A mirror loaded on read is only written if still missing.</li>
+ * </ol>
+ */
+@Slf4j
+@Repository
+class StatsDaoImpl implements StatsDao {
+
+    private static final String LOADED_MARKER = "*";
+    private static final String REBUILD_LOCK_KEY = "stats:reactions:rebuild-lock";
+    private static final Duration REBUILD_LOCK_TTL = Duration.ofHours(1);
+    private static final int CHUNK_SIZE = 500;
+
+    // KEYS[1] = hash key, ARGV[1] = reaction type, ARGV[2] = delta
+    private static final RedisScript<Long> INCREMENT_IF_LOADED_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('exists', KEYS[1]) == 1 then return redis.call('hincrby', KEYS[1], ARGV[1], ARGV[2]) end return 0",
+            Long.class);
+
+    // KEYS[1] = hash key, ARGV[1] = '1' to keep an existing hash, ARGV[2] = ttl seconds, ARGV[3..n] = fields and values
+    private static final RedisScript<Long> REPLACE_SCRIPT = new DefaultRedisScript<>("""
+            if ARGV[1] == '1' and redis.call('exists', KEYS[1]) == 1 then return 0 end
+            redis.call('del', KEYS[1])
+            redis.call('hset', KEYS[1], unpack(ARGV, 3))
+            redis.call('expire', KEYS[1], ARGV[2])
+            return 1
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final MongoTemplate mongoTemplate;
+    private final RedisCacheService redisCacheService;
+    private final RedisLocks redisLocks;
+    private final StatsCounterBuffer statsCounterBuffer;
+    private final Duration mirrorTtl;
+
+    StatsDaoImpl(RedisTemplate<String, String> redisTemplate,
+                 MongoTemplate mongoTemplate,
+                 RedisCacheService redisCacheService,
+                 RedisLocks redisLocks,
+                 StatsCounterBuffer statsCounterBuffer,
+                 @Value("${stats.reactions.mirror-ttl:1h}") Duration mirrorTtl) {
+
+        this.redisTemplate = redisTemplate;
+        this.mongoTemplate = mongoTemplate;
+        this.redisCacheService = redisCacheService;
+        this.redisLocks = redisLocks;
+        this.statsCounterBuffer = statsCounterBuffer;
+        this.mirrorTtl = mirrorTtl;
+    }
+
+    @Override
+    public Map<LikeType, Long> findReactionCounts(String targetId) {
+
+        String key = REACTION_COUNTS_PREFIX + targetId;
+        Map<Object, Object> mirror = redisTemplate.opsForHash().entries(key);
+
+        if (!mirror.isEmpty()) {
+            Map<LikeType, Long> counts = new EnumMap<>(LikeType.class);
+            mirror.forEach((field, value) -> {
+                LikeType type = parseType(field.toString());
+                long count = Long.parseLong(value.toString());
+                if (type != null && count > 0) counts.put(type, count);
+            });
+            return counts;
+        }
+
+        Aggregation aggregation = newAggregation(
+                match(Criteria.where("targetId").is(targetId).and("likeType").ne(null)),
+                group("likeType").count().as("count"));
+
+        Map<LikeType, Long> counts = new EnumMap<>(LikeType.class);
+        for (Document row : mongoTemplate.aggregate(aggregation, Like.class, Document.class)) {
+            LikeType type = parseType(String.valueOf(row.get("_id")));
+            if (type != null) counts.put(type, ((Number) row.get("count")).longValue());
+        }
+
+        writeMirrors(Map.of(targetId, counts), true);
+        return counts;
+    }
+
+    @Override
+    public void recordReaction(String targetId, LikeType likeType, long delta) {
+        redisTemplate.execute(INCREMENT_IF_LOADED_SCRIPT, List.of(REACTION_COUNTS_PREFIX + targetId),
+                likeType.name(), Long.toString(delta));
+    }
+
+    @Override
+    public void recordReactions(Map<String, Map<LikeType, Long>> deltasByTarget) {
+
+        if (deltasByTarget.isEmpty()) return;
+
+        // EVALSHA cannot fall back to EVAL inside a pipeline, the script is sent as is
+        byte[] script = INCREMENT_IF_LOADED_SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            deltasByTarget.forEach((targetId, deltas) -> deltas.forEach((type, delta) -> {
+                if (delta == 0) return;
+                connection.scriptingCommands().eval(script, ReturnType.INTEGER, 1,
+                        (REACTION_COUNTS_PREFIX + targetId).getBytes(StandardCharsets.UTF_8),
+                        type.name().getBytes(StandardCharsets.UTF_8),
+                        Long.toString(delta).getBytes(StandardCharsets.UTF_8));
+            }));
+            return null;
+        });
+    }
+
+    @Override
+    @Scheduled(cron = "${stats.reactions.rebuild-cron:0 30 3 * * *}")
+    public void rebuildReactionCounts() {
+
+        Optional<String> lockToken = redisLocks.tryAcquire(REBUILD_LOCK_KEY, REBUILD_LOCK_TTL);
+        if (lockToken.isEmpty()) {
+            log.debug("Reaction counts rebuild skipped, another node holds the lock");
+            return;
+        }
+
+        try {
+            // Narrows the double count window to deltas buffered on other nodes
+            statsCounterBuffer.flush();
+
+            Aggregation aggregation = newAggregation(
+                    match(Criteria.where("likeType").ne(null)),
+                    group("targetId", "targetType", "likeType").count().as("count"),
+                    group("targetId", "targetType").push(new Document("k", "$_id.likeType").append("v", "$count")).as("reactions"))
+                    .withOptions(Aggregation.newAggregationOptions().allowDiskUse(true).build());
+
+            Map<String, Map<LikeType, Long>> posts = new HashMap<>();
+            Map<String, Map<LikeType, Long>> comments = new HashMap<>();
+            long rebuilt = 0;
+
+            try (Stream<Document> rows = mongoTemplate.aggregateStream(aggregation, Like.class, Document.class)) {
+                Iterator<Document> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    Document row = iterator.next();
+                    Document id = row.get("_id", Document.class);
+                    String targetId = id.getString("targetId");
+                    if (targetId == null) continue;
+
+                    Map<LikeType, Long> counts = toCounts(row.getList("reactions", Document.class));
+                    if (TargetType.COMMENT.name().equals(id.getString("targetType"))) comments.put(targetId, counts);
+                    else posts.put(targetId, counts);
+
+                    if (posts.size() >= CHUNK_SIZE) rebuilt += write(posts, Post.class, POST_REACTION_COUNTS);
+                    if (comments.size() >= CHUNK_SIZE) rebuilt += write(comments, Comment.class, COMMENT_REACTION_COUNTS);
+                }
+            }
+
+            rebuilt += write(posts, Post.class, POST_REACTION_COUNTS);
+            rebuilt += write(comments, Comment.class, COMMENT_REACTION_COUNTS);
+
+            long cleared = clearUnliked(Post.class, POST_REACTION_COUNTS) + clearUnliked(Comment.class, COMMENT_REACTION_COUNTS);
+            log.info("Reaction counts rebuilt for {} targets, cleared for {}", rebuilt, cleared);
+        } finally {
+            redisLocks.release(REBUILD_LOCK_KEY, lockToken.get());
+        }
+    }
+
+    /**
+     * Writes a chunk of breakdowns with one unordered bulk, then refreshes their mirrors and cached entities.
+     */
+    private int write(Map<String, Map<LikeType, Long>> chunk, Class<?> entity, String field) {
+
+        if (chunk.isEmpty()) return 0;
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entity);
+        chunk.forEach((id, counts) -> bulk.updateOne(Query.query(Criteria.where("_id").is(id)), Update.update(field, counts)));
+        bulk.execute();
+
+        writeMirrors(chunk, false);
+        chunk.keySet().forEach(id -> redisCacheService.deleteById(id, entity));
+
+        int written = chunk.size();
+        chunk.clear();
+        return written;
+    }
+
+    /**
+     * Empties the breakdowns of the targets that no longer have any like, which the grouping cannot return.
+     *
+     * @return the number of cleared targets
+     */
+    private long clearUnliked(Class<?> entity, String field) {
+
+        String collection = mongoTemplate.getCollectionName(entity);
+        ObjectId lastId = null;
+        long cleared = 0;
+
+        while (true) {
+            Criteria withBreakdown = Criteria.where(field).exists(true).ne(new Document());
+            if (lastId != null) withBreakdown.and("_id").gt(lastId);
+
+            Query chunkQuery = new Query(withBreakdown).with(Sort.by(Sort.Direction.ASC, "_id")).limit(CHUNK_SIZE);
+            chunkQuery.fields().include("_id");
+
+            List<ObjectId> objectIds = mongoTemplate.find(chunkQuery, Document.class, collection).stream()
+                    .map(document -> document.getObjectId("_id"))
+                    .toList();
+            if (objectIds.isEmpty()) return cleared;
+            lastId = objectIds.getLast();
+
+            List<String> ids = objectIds.stream().map(ObjectId::toHexString).toList();
+            Query likedQuery = new Query(Criteria.where("targetId").in(ids).and("likeType").ne(null));
+            Set<String> liked = new HashSet<>(mongoTemplate.findDistinct(likedQuery, "targetId", Like.class, String.class));
+
+            List<String> unliked = ids.stream().filter(id -> !liked.contains(id)).toList();
+            if (unliked.isEmpty()) continue;
+
+            mongoTemplate.updateMulti(
+                    new Query(Criteria.where("_id").in(unliked.stream().map(ObjectId::new).toList())),
+                    Update.update(field, new Document()),
+                    collection);
+
+            redisTemplate.delete(unliked.stream().map(id -> REACTION_COUNTS_PREFIX + id).toList());
+            unliked.forEach(id -> redisCacheService.deleteById(id, entity));
+            cleared += unliked.size();
+        }
+    }
+
+    /**
+     * @param onlyIfMissing keeps a mirror loaded or rebuilt meanwhile
+     */
+    private void writeMirrors(Map<String, Map<LikeType, Long>> countsByTarget, boolean onlyIfMissing) {
+
+        // EVALSHA cannot fall back to EVAL inside a pipeline, the script is sent as is
+        byte[] script = REPLACE_SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+        byte[] keep = (onlyIfMissing ? "1" : "0").getBytes(StandardCharsets.UTF_8);
+        byte[] ttl = Long.toString(mirrorTtl.toSeconds()).getBytes(StandardCharsets.UTF_8);
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            countsByTarget.forEach((targetId, counts) -> {
+                List<byte[]> keysAndArgs = new ArrayList<>();
+                keysAndArgs.add((REACTION_COUNTS_PREFIX + targetId).getBytes(StandardCharsets.UTF_8));
+                keysAndArgs.add(keep);
+                keysAndArgs.add(ttl);
+                keysAndArgs.add(LOADED_MARKER.getBytes(StandardCharsets.UTF_8));
+                keysAndArgs.add("1".getBytes(StandardCharsets.UTF_8));
+                counts.forEach((type, count) -> {
+                    keysAndArgs.add(type.name().getBytes(StandardCharsets.UTF_8));
+                    keysAndArgs.add(Long.toString(count).getBytes(StandardCharsets.UTF_8));
+                });
+
+                connection.scriptingCommands().eval(script, ReturnType.INTEGER, 1, keysAndArgs.toArray(byte[][]::new));
+            });
+            return null;
+        });
+    }
+
+    private Map<LikeType, Long> toCounts(List<Document> reactions) {
+
+        Map<LikeType, Long> counts = new EnumMap<>(LikeType.class);
+        for (Document reaction : reactions) {
+            LikeType type = parseType(String.valueOf(reaction.get("k")));
+            if (type != null) counts.put(type, ((Number) reaction.get("v")).longValue());
+        }
+        return counts;
+    }
+
+    private LikeType parseType(String value) {
+        if (LOADED_MARKER.equals(value)) return null;
+        try {
+            return LikeType.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            log.warn("Unknown reaction type in counts: {}", value);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.exposer.dao.implementation;
+
+import com.exposer.dao.interfaces.PostDao;
+import com.exposer.dao.interfaces.TrendingDao;
+import com.exposer.models.dto.request.PaginationRequest;
+import com.exposer.models.entity.Post;
+import com.exposer.models.entity.PostStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Trending feed materialized in Redis sorted sets, one per tag.
+ *
+ * @implNote <ol>
+ *   <li>{@link #rebuild()} scores every active post of the window with a time-decayed engagement
+ *   score, writes each tag into a temporary key and swaps it in with {@code RENAME}, so readers never
+ *   see a half-built set. A short Redis lock keeps a single node rebuilding per interval.</li>
+ *   <li>Reads union the requested tags with {@code ZUNIONSTORE} into a short-lived key shared by
+ *   every request for the same tag set, page with {@code ZREVRANGE} and hydrate the page through
+ *   {@link PostDao#findAllById}: the entity cache, one {@code $in} query for the misses, and the counter
+ *   deltas still pending on this node.</li>
+ * </ol>
+ */
+@Slf4j
+@Repository
+class TrendingDaoImpl implements TrendingDao {
+
+    private static final String TAG_KEY_PREFIX = "trending:tag:";
+    private static final String UNION_KEY_PREFIX = "trending:union:";
+    private static final String REBUILD_LOCK_KEY = "trending:rebuild-lock";
+
+    private static final double LIKE_WEIGHT = 1.0;
+    private static final double COMMENT_WEIGHT = 2.0;
+    private static final double SAVE_WEIGHT = 3.0;
+    private static final double GRAVITY = 1.5;
+
+    private static final Duration TAG_KEY_TTL = Duration.ofHours(1);
+    private static final Duration UNION_KEY_TTL = Duration.ofSeconds(60);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final MongoTemplate mongoTemplate;
+    private final PostDao postDao;
+    private final DbRefBatchResolver dbRefBatchResolver;
+    private final Duration window;
+    private final int maxPerTag;
+    private final Duration refreshInterval;
+
+    TrendingDaoImpl(RedisTemplate<String, String> redisTemplate,
+                    MongoTemplate mongoTemplate,
+                    PostDao postDao,
+                    DbRefBatchResolver dbRefBatchResolver,
+                    @Value("${trending.window:7d}") Duration window,
+                    @Value("${trending.max-per-tag:500}") int maxPerTag,
+                    @Value("${trending.refresh-interval:1m}") Duration refreshInterval) {
+
+        this.redisTemplate = redisTemplate;
+        this.mongoTemplate = mongoTemplate;
+        this.postDao = postDao;
+        this.dbRefBatchResolver = dbRefBatchResolver;
+        this.window = window;
+        this.maxPerTag = maxPerTag;
+        this.refreshInterval = refreshInterval;
+    }
+
+    @Override
+    public Optional<Slice<Post>> findTrending(Set<String> tags, PaginationRequest request) {
+
+        if (tags == null || tags.isEmpty()) return Optional.empty();
+
+        List<String> tagKeys = tags.stream().sorted().map(TAG_KEY_PREFIX::concat).toList();
+        String feedKey = tagKeys.size() == 1 ? tagKeys.getFirst() : union(tagKeys);
+
+        ZSetOperations<String, String> zSet = redisTemplate.opsForZSet();
+
+        Long total = zSet.zCard(feedKey);
+        if (total == null || total == 0) return Optional.empty();
+
+        PageRequest pageable = PageRequest.of(request.getPage(), request.getSize());
+        long start = pageable.getOffset();
+
+        Set<String> ids = zSet.reverseRange(feedKey, start, start + pageable.getPageSize() - 1);
+        if (ids == null || ids.isEmpty()) return Optional.of(new PageImpl<>(List.of(), pageable, total));
+
+        // Keep the ZSET order, drop posts deleted or deactivated since the last rebuild
+        List<Post> posts = postDao.findAllById(ids).stream()
+                .filter(Post::isActive)
+                .toList();
+
+        dbRefBatchResolver.withAuthors(posts);
+        return Optional.of(new PageImpl<>(posts, pageable, total));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${trending.refresh-interval:1m}", initialDelayString = "${trending.initial-delay:10s}")
+    public void rebuild() {
+
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(REBUILD_LOCK_KEY, "1", refreshInterval);
+        if (!Boolean.TRUE.equals(acquired)) {
+            log.debug("Trending feed rebuild skipped, another node holds the lock");
+            return;
+        }
+
+        Instant now = Instant.now();
+        Query query = new Query(Criteria.where("isActive").is(true).and("createdAt").gte(now.minus(window)));
+        query.fields().include("tags", "postStats", "createdAt");
+
+        Map<String, Set<TypedTuple<String>>> scoresByTag = new HashMap<>();
+
+        try (Stream<Post> posts = mongoTemplate.stream(query, Post.class)) {
+            posts.forEach(post -> {
+                if (post.getTags() == null || post.getTags().isEmpty()) return;
+
+                double score = score(post, now);
+                for (String tag : post.getTags()) {
+                    scoresByTag.computeIfAbsent(tag.toLowerCase(), _ -> new HashSet<>())
+                            .add(TypedTuple.of(post.getId(), score));
+                }
+            });
+        }
+
+        scoresByTag.forEach(this::replaceTag);
+        log.info("Trending feed rebuilt for {} tags", scoresByTag.size());
+    }
+
+    private String union(List<String> tagKeys) {
+
+        String unionKey = UNION_KEY_PREFIX + tagKeys.stream()
+                .map(key -> key.substring(TAG_KEY_PREFIX.length()))
+                .collect(Collectors.joining(","));
+
+        if (!Boolean.TRUE.equals(redisTemplate.hasKey(unionKey))) {
+            // A post carries the same score in every tag set, MAX keeps it instead of adding it up
+            redisTemplate.opsForZSet().unionAndStore(tagKeys.getFirst(), tagKeys.subList(1, tagKeys.size()), unionKey, Aggregate.MAX);
+            redisTemplate.expire(unionKey, UNION_KEY_TTL);
+        }
+
+        return unionKey;
+    }
+
+    private void replaceTag(String tag, Set<TypedTuple<String>> scores) {
+
+        String key = TAG_KEY_PREFIX + tag;
+        String tempKey = key + ":rebuild";
+
+        ZSetOperations<String, String> zSet = redisTemplate.opsForZSet();
+
+        redisTemplate.delete(tempKey);
+        zSet.add(tempKey, scores);
+
+        // Keep only the top entries per tag
+        if (scores.size() > maxPerTag) {
+            zSet.removeRange(tempKey, 0, scores.size() - maxPerTag - 1L);
+        }
+
+        redisTemplate.expire(tempKey, TAG_KEY_TTL);
+        redisTemplate.rename(tempKey, key);
+    }
+
+    /**
+     * Engagement divided by a power of the post age in hours, so fresh activity outranks old totals.
+     */
+    private double score(Post post, Instant now) {
+
+        PostStats stats = post.getPostStats() == null ? new PostStats() : post.getPostStats();
+
+        double engagement = 1
+                + LIKE_WEIGHT * stats.getLikeCount()
+                + COMMENT_WEIGHT * stats.getCommentCount()
+                + SAVE_WEIGHT * stats.getSaveCount();
+
+        Instant createdAt = post.getCreatedAt() == null ? now : post.getCreatedAt();
+        double ageHours = Math.max(0, Duration.between(createdAt, now).toMinutes() / 60.0);
+
+        return engagement / Math.pow(ageHours + 2, GRAVITY);
+    }
+}
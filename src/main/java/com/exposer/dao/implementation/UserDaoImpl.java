@@ -1,18 +1,20 @@
 package com.exposer.dao.implementation;
 
 import com.exposer.dao.interfaces.RedisCacheService;
+import com.exposer.dao.interfaces.RevocationRegistry;
 import com.exposer.dao.interfaces.UserDao;
 import com.exposer.dao.repository.UserRepository;
 import com.exposer.models.dto.request.PaginationRequest;
 import com.exposer.models.entity.User;
 import com.exposer.utils.CommonUtil;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
 
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 
@@ -22,29 +24,42 @@ class UserDaoImpl implements UserDao {
 
     private final UserRepository userRepository;
     private final RedisCacheService cacheService;
+    private final CachingLoader cachingLoader;
+    private final KeysetPager keysetPager;
+    private final OffsetPager offsetPager;
+    private final RevocationRegistry revocationRegistry;
 
+    /**
+     * @implNote Users are cached by name under their username only, the key evicted by save and delete.
+     * An email address is looked up in Mongo, a key under it could not be evicted.
+     */
     @Override
     public Optional<User> findByUsernameOrEmail(String username) {
 
-        return cacheService.getByName(username, User.class)
-                .or(() -> userRepository.findByUsernameOrEmail(username)).map(user -> {
-                    cacheService.putById(user.getId(), user, Duration.ofMinutes(5));
-                    cacheService.putByName(user.getUsername(), user, Duration.ofMinutes(5));
-                    return user;
-                });
+        if (username.contains("@")) {
+            return userRepository.findByUsernameOrEmail(username);
+        }
+
+        return cachingLoader.loadByName(username, User.class, Duration.ofMinutes(5),
+                () -> userRepository.findByUsernameOrEmail(username));
     }
 
     @Override
     public User save(User user) {
         User saved = userRepository.save(user);
         cacheService.putById(saved.getId(), saved, null);
+        cacheService.deleteByName(saved.getUsername(), User.class);
+        revocationRegistry.update(saved.getId(), saved.getAccountStatus());
         return saved;
     }
 
     @Override
     public void deleteById(String id) {
+        Optional<User> user = userRepository.findById(id);
         userRepository.deleteById(id);
         cacheService.deleteById(id, User.class);
+        user.ifPresent(deleted -> cacheService.deleteByName(deleted.getUsername(), User.class));
+        revocationRegistry.revoke(id);
     }
 
     @Override
@@ -81,13 +96,12 @@ class UserDaoImpl implements UserDao {
     @Override
     public Optional<User> findById(String id) {
 
-        return cacheService.getById(id, User.class)
-                .or(() -> userRepository.findById(id))
-                .map(user -> {
-                    cacheService.putById(id, user, null);
-                    return user;
-                });
+        return cachingLoader.loadById(id, User.class, null, () -> userRepository.findById(id));
+    }
 
+    @Override
+    public List<User> findAllById(Collection<String> ids) {
+        return cachingLoader.loadAllById(ids, User.class, null, userRepository::findAllById);
     }
 
     @Override
@@ -98,12 +112,7 @@ class UserDaoImpl implements UserDao {
     @Override
     public Optional<User> findByUsername(String username) {
 
-        return cacheService.getByName(username, User.class)
-                .or(() -> userRepository.findByUsername(username))
-                .map(user -> {
-                    cacheService.putByName(username, user, null);
-                    return user;
-                });
+        return cachingLoader.loadByName(username, User.class, null, () -> userRepository.findByUsername(username));
     }
 
     @Override
@@ -112,18 +121,25 @@ class UserDaoImpl implements UserDao {
     }
 
     @Override
-    public Page<User> findByUsers(PaginationRequest request) {
+    public Slice<User> findByUsers(PaginationRequest request) {
 
-        Pageable pageable = CommonUtil.toBuildSortAndPage(request);
+        if (CommonUtil.isCursorRequest(request)) {
+            return keysetPager.find(null, request, User.class);
+        }
 
-        return userRepository.findAll(pageable);
+        return offsetPager.find(null, request, User.class);
 
     }
 
     @Override
     public void deleteByUsername(String username) {
+        Optional<User> user = userRepository.findByUsername(username);
         userRepository.deleteByUsername(username);
         cacheService.deleteByName(username, User.class);
+        user.ifPresent(deleted -> {
+            cacheService.deleteById(deleted.getId(), User.class);
+            revocationRegistry.revoke(deleted.getId());
+        });
     }
 
 
@@ -0,0 +1,13 @@
+package com.exposer.dao.interfaces;
+
+import com.exposer.models.entity.AuthorSnapshot;
+
+public interface AuthorSnapshotDao {
+
+    /**
+     * Rewrites the embedded author snapshot on every post and comment of the author.
+     *
+     * @return number of documents updated
+     */
+    long updateSnapshot(AuthorSnapshot snapshot);
+}
@@ -0,0 +1,26 @@
+package com.exposer.dao.interfaces;
+
+import tools.jackson.core.type.TypeReference;
+
+/**
+ * Serialization format of cached values. Implementations are Spring beans, picked by {@code cache.codec}
+ * for writes and by the id stored in each value's header for reads.
+ */
+public interface CacheCodec {
+
+    /**
+     * Stored in the value header, must be unique, stable across releases and within 1..15.
+     */
+    byte id();
+
+    /**
+     * Value of {@code cache.codec} selecting this codec for writes.
+     */
+    String name();
+
+    byte[] encode(Object value);
+
+    <T> T decode(byte[] bytes, Class<T> type);
+
+    <T> T decode(byte[] bytes, TypeReference<T> type);
+}
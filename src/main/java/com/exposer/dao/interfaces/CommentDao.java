@@ -1,35 +1,66 @@
 package com.exposer.dao.interfaces;
 
+import com.exposer.models.dto.BulkInsertResult;
 import com.exposer.models.dto.request.PaginationRequest;
+import com.exposer.models.dto.response.CommentResponse;
+import com.exposer.models.dto.response.PagedResponse;
 import com.exposer.models.entity.Comment;
-import org.springframework.data.domain.Page;
+import com.exposer.models.entity.enums.LikeType;
+import org.springframework.data.domain.Slice;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface CommentDao {
 
     Optional<Comment> findById(String id);
 
+    /**
+     * @return the comments found, in the order of {@code ids}
+     */
+    List<Comment> findAllById(Collection<String> ids);
+
     boolean existsById(String id);
 
     void deleteById(String id);
 
     Comment save(Comment t);
 
-    Page<Comment> findAll(PaginationRequest request);
+    /**
+     * Sets the description and the edited and deleted flags of {@code comment}, leaving its counters untouched.
+     *
+     * @return the updated comment, empty if it no longer exists
+     */
+    Optional<Comment> updateDetails(Comment comment);
+
+    /**
+     * Inserts new comments in unordered batches, bumping the cached page version once per post.
+     */
+    BulkInsertResult insertAll(List<Comment> comments);
 
-    Page<Comment> findByPostId(String postId, PaginationRequest request);
+    Slice<Comment> findAll(PaginationRequest request);
 
-    Page<Comment> findByUserId(String userId, PaginationRequest request);
+    /**
+     * Offset pages are cached per post under a version bumped by every comment write on the post.
+     */
+    PagedResponse<CommentResponse> findByPostId(String postId, PaginationRequest request);
 
-    Page<Comment> findRepliesByComment(String parentCommentId, PaginationRequest request);
+    Slice<Comment> findByUserId(String userId, PaginationRequest request);
+
+    Slice<Comment> findRepliesByComment(String parentCommentId, PaginationRequest request);
 
     List<Comment> findRepliesByCommentId(String parentCommentId);
 
     void increaseReplyCount(String commentId);
 
-    void incrementLikeCount(String commentId);
+    void incrementLikeCount(String commentId, LikeType likeType);
+
+    void decrementLikeCount(String commentId, LikeType likeType);
 
-    void decrementLikeCount(String commentId);
+    /**
+     * Adds likes counted per comment and reaction type, as {@link #incrementLikeCount} would one by one.
+     */
+    void incrementLikeCounts(Map<String, Map<LikeType, Long>> likesByComment);
 }
@@ -0,0 +1,30 @@
+package com.exposer.dao.interfaces;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Answers which of a batch of targets a user has liked or saved, as needed to render a feed.
+ */
+public interface InteractionStateDao {
+
+    /**
+     * @return the ids among {@code targetIds} (posts or comments) the user has liked, in input order
+     */
+    Set<String> likedAmong(String userId, Collection<String> targetIds);
+
+    /**
+     * @return the ids among {@code postIds} the user has saved, in input order
+     */
+    Set<String> savedAmong(String userId, Collection<String> postIds);
+
+    void recordLike(String userId, String targetId, boolean liked);
+
+    /**
+     * Records new likes of many users in one Redis round trip.
+     */
+    void recordLikes(Map<String, ? extends Collection<String>> targetsByUser);
+
+    void recordSave(String userId, String postId, boolean saved);
+}
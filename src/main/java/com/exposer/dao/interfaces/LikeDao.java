@@ -1,9 +1,13 @@
 package com.exposer.dao.interfaces;
 
+import com.exposer.models.dto.BulkInsertResult;
+import com.exposer.models.dto.UpsertResult;
 import com.exposer.models.dto.request.PaginationRequest;
 import com.exposer.models.entity.Like;
-import org.springframework.data.domain.Page;
+import com.exposer.models.entity.enums.LikeType;
+import org.springframework.data.domain.Slice;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface LikeDao {
@@ -18,9 +22,37 @@ public interface LikeDao {
 
     Like save(Like like);
 
-    Page<Like> findAll(PaginationRequest request);
+    /**
+     * Inserts the like unless the user already likes its target, in one round trip.
+     * Safe to call concurrently for the same user and target.
+     */
+    UpsertResult<Like> insertIfAbsent(Like like);
 
-    Page<Like> findByTargetId(String targetId, PaginationRequest request);
+    /**
+     * Changes the reaction of a like, only if it still has the {@code from} reaction.
+     *
+     * @return the updated like, empty if it was removed or changed meanwhile
+     */
+    Optional<Like> updateLikeType(String id, LikeType from, LikeType to);
 
-    Page<Like> findByUserId(String userId, PaginationRequest request);
+    /**
+     * Inserts new likes in unordered batches; a like the user already has is reported as an error.
+     */
+    BulkInsertResult insertAll(List<Like> likes);
+
+    /**
+     * @return the removed like, empty if the user did not like the target
+     */
+    Optional<Like> deleteByUserIdAndTargetId(String userId, String targetId);
+
+    /**
+     * @return the removed like, empty if there is no such like owned by the user
+     */
+    Optional<Like> deleteByIdAndUserId(String id, String userId);
+
+    Slice<Like> findAll(PaginationRequest request);
+
+    Slice<Like> findByTargetId(String targetId, PaginationRequest request);
+
+    Slice<Like> findByUserId(String userId, PaginationRequest request);
 }
@@ -1,13 +1,18 @@
 package com.exposer.dao.interfaces;
 
+import com.exposer.models.dto.BulkInsertResult;
 import com.exposer.models.dto.request.PaginationRequest;
 import com.exposer.models.dto.request.PostSearchRequest;
 import com.exposer.models.dto.response.PagedResponse;
 import com.exposer.models.dto.response.PostResponse;
 import com.exposer.models.dto.response.admin.AdminPostResponse;
 import com.exposer.models.entity.Post;
-import org.springframework.data.domain.Page;
+import com.exposer.models.entity.enums.LikeType;
+import org.springframework.data.domain.Slice;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -15,25 +20,47 @@ public interface PostDao {
 
     Optional<Post> findById(String id);
 
+    /**
+     * @return the posts found, in the order of {@code ids}
+     */
+    List<Post> findAllById(Collection<String> ids);
+
     boolean existsById(String id);
 
     void deleteById(String id);
 
     Post save(Post t);
 
+    /**
+     * Sets the title, content, image, tags and status of {@code post}, leaving its counters untouched.
+     *
+     * @return the updated post, empty if it no longer exists
+     */
+    Optional<Post> updateDetails(Post post);
+
+    /**
+     * Inserts new posts in unordered batches, bumping the cached page version once per author.
+     */
+    BulkInsertResult insertAll(List<Post> posts);
+
     PagedResponse<AdminPostResponse> findAll(PaginationRequest request);
 
     PagedResponse<PostResponse> findByUser(String id, PaginationRequest request);
 
-    Page<Post> search(PostSearchRequest searchRequest, PaginationRequest paginationRequest);
+    Slice<Post> search(PostSearchRequest searchRequest, PaginationRequest paginationRequest);
 
-    Page<Post> recommendation(Set<String> tags, PaginationRequest paginationRequest);
+    Slice<Post> recommendation(Set<String> tags, PaginationRequest paginationRequest);
 
     void updatePostForNewComment(String postId);
 
-    void incrementLikeCount(String postId);
+    void incrementLikeCount(String postId, LikeType likeType);
+
+    void decrementLikeCount(String postId, LikeType likeType);
 
-    void decrementLikeCount(String postId);
+    /**
+     * Adds likes counted per post and reaction type, as {@link #incrementLikeCount} would one by one.
+     */
+    void incrementLikeCounts(Map<String, Map<LikeType, Long>> likesByPost);
 
     void decrementSaveCount(String postId);
 
@@ -0,0 +1,27 @@
+package com.exposer.dao.interfaces;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.Set;
+
+public interface PostSearchIndex {
+
+    /**
+     * False until the index has been built, callers fall back to Mongo meanwhile.
+     */
+    boolean isReady();
+
+    /**
+     * @return ids of the matching posts, best match first, or in the pageable's sort when only tags are given
+     */
+    Slice<String> search(List<String> terms, Set<String> tags, Pageable pageable);
+
+    /**
+     * Whether tag-only matches can be ordered by the given field.
+     */
+    boolean canSortBy(String field);
+
+    void rebuild();
+}
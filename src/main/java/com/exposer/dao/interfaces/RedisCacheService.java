@@ -1,11 +1,15 @@
 package com.exposer.dao.interfaces;
 
 
+import com.exposer.models.dto.VersionedPage;
 import com.exposer.models.dto.request.PaginationRequest;
 import tools.jackson.core.type.TypeReference;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 public interface RedisCacheService {
 
@@ -13,12 +17,50 @@ public interface RedisCacheService {
 
     <T> void putByName(String name, T value, Duration ttl);
 
-    <T> void putByPagination(String id, PaginationRequest request, String cachePrefix, T data, Duration ttl);
+    /**
+     * Stores a loaded value unless the entry was put or deleted since {@code generation} was read, so a
+     * value loaded before a write is never stored after it.
+     *
+     * @param generation read with {@link #getGeneration} before loading the value
+     */
+    <T> void putByIdIfUnchanged(String id, T value, long generation, Duration ttl);
+
+    <T> void putByNameIfUnchanged(String name, T value, long generation, Duration ttl);
+
+    /**
+     * Stores every value under its id in one pipelined round trip, as {@link #putByIdIfUnchanged} would.
+     *
+     * @param generations read with {@link #getGenerationsById} before loading the values
+     */
+    <T> void putAllById(Map<String, T> values, Map<String, Long> generations, Duration ttl);
+
+    /**
+     * @return the generation of the entry, bumped by every put and delete of the id or name
+     */
+    long getGeneration(String identifier, Class<?> clazz);
+
+    /**
+     * Reads the generation of every id in one pipelined round trip.
+     */
+    Map<String, Long> getGenerationsById(Collection<String> ids, Class<?> clazz);
+
+    /**
+     * @param version the version returned by {@link #getByPagination}; a page loaded while the version was
+     *                bumped is stored under the stale version and never served
+     */
+    <T> void putByPagination(String id, PaginationRequest request, String cachePrefix, long version, T data, Duration ttl);
 
     <T> Optional<T> getById(String id, Class<T> clazz);
 
     <T> Optional<T> getByName(String id, Class<T> clazz);
 
+    /**
+     * Looks every id up in one pipelined round trip.
+     *
+     * @return the cached values by id, in the order of {@code ids}; misses are left out
+     */
+    <T> Map<String, T> getAllById(Collection<String> ids, Class<T> clazz);
+
     /**
      * Why we need TypeReference<T>
      * <p>
@@ -39,7 +81,7 @@ public interface RedisCacheService {
      * ObjectMapper now knows it should deserialize JSON into a List of User objects.
      */
 
-    <T> T getByPagination(String id, PaginationRequest request, String cachePrefix, TypeReference<T> typeRef);
+    <T> VersionedPage<T> getByPagination(String id, PaginationRequest request, String cachePrefix, TypeReference<T> typeRef);
 
     void deleteById(String id, Class<?> clazz);
 
@@ -64,4 +106,14 @@ public interface RedisCacheService {
      */
 
     void incrementPaginationVersion(String id, String cachePrefix);
+
+    /**
+     * Runs {@code loader} at most once per key at a time; concurrent callers for the same key
+     * wait for its result instead of hitting the database.
+     *
+     * @param cachedLookup re-checked by the leader before loading and polled by callers
+     *                     waiting on a lease held by another node
+     * @param loader       loads the value and populates the cache
+     */
+    <T> Optional<T> singleFlight(String key, Supplier<Optional<T>> cachedLookup, Supplier<Optional<T>> loader);
 }
@@ -0,0 +1,25 @@
+package com.exposer.dao.interfaces;
+
+import com.exposer.models.entity.enums.AccountStatus;
+
+public interface RevocationRegistry {
+
+    /**
+     * Answered from memory, safe to call on every request.
+     */
+    boolean isRevoked(String userId);
+
+    void revoke(String userId);
+
+    void restore(String userId);
+
+    /**
+     * Revokes or restores the user depending on the account status, a no-op when nothing changes.
+     */
+    default void update(String userId, AccountStatus status) {
+        boolean revoked = status == AccountStatus.BANNED || status == AccountStatus.DEACTIVATED;
+
+        if (revoked && !isRevoked(userId)) revoke(userId);
+        else if (!revoked && isRevoked(userId)) restore(userId);
+    }
+}
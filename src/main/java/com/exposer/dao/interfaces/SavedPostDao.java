@@ -2,7 +2,7 @@ package com.exposer.dao.interfaces;
 
 import com.exposer.models.dto.request.PaginationRequest;
 import com.exposer.models.entity.SavedPost;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.Optional;
 
@@ -15,9 +15,9 @@ public interface SavedPostDao {
 
     SavedPost save(SavedPost savedPost);
 
-    Page<SavedPost> findAll(PaginationRequest request);
+    Slice<SavedPost> findAll(PaginationRequest request);
 
-    Page<SavedPost> findByUser(String userId, PaginationRequest request);
+    Slice<SavedPost> findByUser(String userId, PaginationRequest request);
 
     boolean existsByUserAndPostId(String userId, String postId);
 
@@ -0,0 +1,25 @@
+package com.exposer.dao.interfaces;
+
+import com.exposer.models.entity.enums.LikeType;
+
+import java.util.Map;
+
+public interface StatsDao {
+
+    /**
+     * @return likes per reaction type of a post or comment, types without likes are absent
+     */
+    Map<LikeType, Long> findReactionCounts(String targetId);
+
+    void recordReaction(String targetId, LikeType likeType, long delta);
+
+    /**
+     * Same as {@link #recordReaction} for many targets, in one Redis round trip.
+     */
+    void recordReactions(Map<String, Map<LikeType, Long>> deltasByTarget);
+
+    /**
+     * Recomputes the reaction counts of every liked post and comment from the likes collection.
+     */
+    void rebuildReactionCounts();
+}
@@ -0,0 +1,21 @@
+package com.exposer.dao.interfaces;
+
+import com.exposer.models.dto.request.PaginationRequest;
+import com.exposer.models.entity.Post;
+import org.springframework.data.domain.Slice;
+
+import java.util.Optional;
+import java.util.Set;
+
+public interface TrendingDao {
+
+    /**
+     * @return the trending page for the given tags, or empty when the feed has not been built yet
+     */
+    Optional<Slice<Post>> findTrending(Set<String> tags, PaginationRequest request);
+
+    /**
+     * Recomputes the per-tag trending sorted sets from recent posts.
+     */
+    void rebuild();
+}
@@ -2,8 +2,10 @@ package com.exposer.dao.interfaces;
 
 import com.exposer.models.dto.request.PaginationRequest;
 import com.exposer.models.entity.User;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserDao {
@@ -25,13 +27,18 @@ public interface UserDao {
 
     Optional<User> findById(String id);
 
+    /**
+     * @return the users found, in the order of {@code ids}
+     */
+    List<User> findAllById(Collection<String> ids);
+
     Optional<User> findByEmail(String email);
 
     Optional<User> findByUsername(String username);
 
     Optional<User> findByEmailAndVerificationToken(String email, String verificationToken);
 
-    Page<User> findByUsers(PaginationRequest request);
+    Slice<User> findByUsers(PaginationRequest request);
 
     void deleteByUsername(String username);
 
@@ -1,17 +1,15 @@
 package com.exposer.dao.repository;
 
 import com.exposer.models.entity.Like;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.util.Optional;
 
-public interface LikeRepository extends MongoRepository<Like, String> {
-
-    Page<Like> findByTargetId(String targetId, Pageable pageable);
 
+public interface LikeRepository extends MongoRepository<Like, String> {
 
     boolean existsByUserIdAndTargetId(String userId, String targetId);
 
-    Page<Like> findByUserId(String userId, Pageable pageable);
+    Optional<Like> findByUserIdAndTargetId(String userId, String targetId);
+
 }
@@ -1,8 +1,6 @@
 package com.exposer.dao.repository;
 
 import com.exposer.models.entity.SavedPost;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 
@@ -11,7 +9,4 @@ public interface SavedPostRepository extends MongoRepository<SavedPost, String>
 
     boolean existsByUserIdAndPostId(String userId, String postId);
 
-
-    Page<SavedPost> findByUserId(String userId, Pageable pageable);
-
 }
@@ -0,0 +1,9 @@
+package com.exposer.models.dto;
+
+import java.util.Map;
+
+/**
+ * Outcome of a bulk insert; {@code errors} maps the index of each document that was not inserted to the reason.
+ */
+public record BulkInsertResult(int inserted, Map<Integer, String> errors) {
+}
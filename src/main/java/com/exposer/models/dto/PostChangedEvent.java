@@ -0,0 +1,9 @@
+package com.exposer.models.dto;
+
+import com.exposer.models.entity.Post;
+
+/**
+ * Published after a post is saved or deleted; {@code post} is null for a delete.
+ */
+public record PostChangedEvent(String postId, Post post) {
+}
@@ -0,0 +1,13 @@
+package com.exposer.models.dto;
+
+import java.time.Instant;
+
+/**
+ * Claims of a verified access token, parsed once and shared by every caller of the same token.
+ */
+public record TokenClaims(String username, String userId, String role, Instant expiresAt) {
+
+    public boolean isExpired() {
+        return !expiresAt.isAfter(Instant.now());
+    }
+}
@@ -0,0 +1,8 @@
+package com.exposer.models.dto;
+
+/**
+ * The document stored for a key after an upsert, and whether this call inserted it.
+ * Side effects that must run once per document (counters, events) run only when {@code inserted} is true.
+ */
+public record UpsertResult<T>(T value, boolean inserted) {
+}
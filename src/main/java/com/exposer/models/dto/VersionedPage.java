@@ -0,0 +1,12 @@
+package com.exposer.models.dto;
+
+/**
+ * A cached page together with the pagination version it was looked up under; {@code data} is null on a miss.
+ * Pass the version back when storing the freshly loaded page, so the store needs no second version read.
+ */
+public record VersionedPage<T>(long version, T data) {
+
+    public boolean isHit() {
+        return data != null;
+    }
+}
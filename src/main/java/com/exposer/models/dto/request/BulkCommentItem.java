@@ -0,0 +1,26 @@
+package com.exposer.models.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkCommentItem {
+
+    @NotBlank(message = "Author id is required")
+    private String authorId;
+
+    /**
+     * Set to import a reply, the parent must belong to the same post
+     */
+    private String parentCommentId;
+
+    @Valid
+    @NotNull(message = "Comment is required")
+    private CommentRequest comment;
+
+}
@@ -0,0 +1,21 @@
+package com.exposer.models.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkLikeItem {
+
+    @NotBlank(message = "User id is required")
+    private String userId;
+
+    @Valid
+    @NotNull(message = "Like is required")
+    private CreateLikeRequest like;
+
+}
@@ -0,0 +1,21 @@
+package com.exposer.models.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkPostItem {
+
+    @NotBlank(message = "Author id is required")
+    private String authorId;
+
+    @Valid
+    @NotNull(message = "Post is required")
+    private CreatePostRequest post;
+
+}
@@ -0,0 +1,20 @@
+package com.exposer.models.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkRequest<T> {
+
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 50000, message = "Maximum 50000 items allowed per request")
+    private List<@Valid T> items;
+
+}
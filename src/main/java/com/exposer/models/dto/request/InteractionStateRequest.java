@@ -0,0 +1,22 @@
+package com.exposer.models.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+@Schema(description = "Posts or comments to look up the like and save state for")
+public class InteractionStateRequest {
+
+    @NotEmpty(message = "At least one target id is required")
+    @Size(max = 100, message = "Maximum 100 target ids allowed")
+    private List<String> targetIds;
+
+}
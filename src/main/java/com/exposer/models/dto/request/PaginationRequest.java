@@ -25,4 +25,15 @@ public class PaginationRequest {
     @Builder.Default
     private String sortBy = "createdAt";
 
+    @Schema(description = "Set to false to skip the total count, totalElements and totalPages are then null")
+    @Builder.Default
+    private Boolean withTotal = true;
+
+    @Schema(description = "Use keyset pagination, page is ignored and results continue after cursor")
+    @Builder.Default
+    private Boolean useCursor = false;
+
+    @Schema(description = "Opaque cursor returned as nextCursor by the previous page")
+    private String cursor;
+
 }
@@ -0,0 +1,19 @@
+package com.exposer.models.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkItemError {
+
+    /**
+     * Position of the item in the request
+     */
+    private int index;
+
+    private String message;
+
+}
@@ -0,0 +1,22 @@
+package com.exposer.models.dto.response;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkWriteResponse {
+
+    private int requested;
+
+    private int inserted;
+
+    @Builder.Default
+    private List<BulkItemError> errors = new ArrayList<>();
+
+}
@@ -0,0 +1,21 @@
+package com.exposer.models.dto.response;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+
+@NoArgsConstructor
+@Getter
+@Setter
+@SuperBuilder
+public class CursorResponse<T> extends PagedResponse<T> {
+
+    /**
+     * Pass back as {@code cursor} to read the next page, null on the last page.
+     */
+    private String nextCursor;
+    private Boolean hasNext;
+
+}
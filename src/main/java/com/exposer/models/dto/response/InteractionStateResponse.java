@@ -0,0 +1,24 @@
+package com.exposer.models.dto.response;
+
+import lombok.*;
+
+import java.util.Set;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class InteractionStateResponse {
+
+    /**
+     * Requested ids the user has liked
+     */
+    private Set<String> liked;
+
+    /**
+     * Requested ids the user has saved, posts only
+     */
+    private Set<String> saved;
+
+}
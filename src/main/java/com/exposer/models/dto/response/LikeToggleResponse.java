@@ -0,0 +1,19 @@
+package com.exposer.models.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LikeToggleResponse {
+
+    private boolean liked;
+
+    /**
+     * The like now in place, null once unliked
+     */
+    private LikeResponse like;
+
+}
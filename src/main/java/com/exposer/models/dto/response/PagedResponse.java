@@ -1,6 +1,7 @@
 package com.exposer.models.dto.response;
 
 import lombok.*;
+import lombok.experimental.SuperBuilder;
 
 import java.util.List;
 
@@ -9,17 +10,21 @@ import java.util.List;
 @NoArgsConstructor
 @Getter
 @Setter
-@Builder
+@SuperBuilder
 public class PagedResponse<T> {
 
     private List<T> content;
-    private long totalElements;
+
+    /**
+     * Null when the total was not counted, e.g. in cursor mode.
+     */
+    private Long totalElements;
 
     private Boolean isFirst;
     private Boolean isLast;
     private int pageNumber;
     private int pageSize;
-    private long totalPages;
+    private Long totalPages;
 
 
 }
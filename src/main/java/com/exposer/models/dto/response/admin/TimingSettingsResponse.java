@@ -0,0 +1,19 @@
+package com.exposer.models.dto.response.admin;
+
+import lombok.*;
+
+import java.util.Set;
+
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TimingSettingsResponse {
+
+    private Set<String> disabledPackages;
+
+    private double logSampleRate;
+
+}
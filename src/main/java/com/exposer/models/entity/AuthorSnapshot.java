@@ -0,0 +1,43 @@
+package com.exposer.models.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+
+/**
+ * Copy of the author's public profile embedded in posts and comments, so list reads need no user lookup.
+ * Kept in sync by a background fan-out when the profile changes.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AuthorSnapshot {
+
+    private String id;
+
+    private String username;
+
+    private String fullName;
+
+    private String profilePic;
+
+    /**
+     * When the profile was last saved, orders concurrent fan-outs so an older snapshot never wins.
+     */
+    private Instant updatedAt;
+
+    public static AuthorSnapshot from(User user) {
+        return AuthorSnapshot.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .fullName(user.getFullName())
+                .profilePic(user.getProfilePic())
+                .updatedAt(user.getUpdatedAt())
+                .build();
+    }
+}
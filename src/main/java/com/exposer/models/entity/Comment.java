@@ -3,6 +3,8 @@ package com.exposer.models.entity;
 
 import lombok.*;
 import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
@@ -14,8 +16,13 @@ import java.util.List;
 @NoArgsConstructor
 @Getter
 @Setter
-@Builder
+@Builder(toBuilder = true)
 @Document(collection = "comments")
+@CompoundIndexes({
+        @CompoundIndex(name = "comment_post_keyset_idx", def = "{'postId': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "comment_parent_keyset_idx", def = "{'parentCommentId': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "comment_user_keyset_idx", def = "{'user.$id': 1, 'createdAt': -1, '_id': -1}")
+})
 public class Comment extends AbstractEntity {
 
     private String description;
@@ -26,6 +33,8 @@ public class Comment extends AbstractEntity {
     @DBRef(lazy = true)
     private User user;
 
+    private AuthorSnapshot authorSnapshot;
+
     @Indexed
     private String parentCommentId;
 
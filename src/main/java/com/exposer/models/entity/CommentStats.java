@@ -1,8 +1,12 @@
 package com.exposer.models.entity;
 
 
+import com.exposer.models.entity.enums.LikeType;
 import lombok.*;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 @Getter
 @Setter
 @Builder
@@ -15,4 +19,10 @@ public class CommentStats {
 
     @Builder.Default
     private long reportCount = 0;
+
+    /**
+     * Likes per reaction type, types without likes are absent
+     */
+    @Builder.Default
+    private Map<LikeType, Long> reactionCounts = new EnumMap<>(LikeType.class);
 }
@@ -3,11 +3,18 @@ package com.exposer.models.entity;
 import com.exposer.models.entity.enums.LikeType;
 import com.exposer.models.entity.enums.TargetType;
 import lombok.*;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.index.Indexed;
 
 
 @Document(collection = "likes")
+// The unique {userId, targetId} index is created by LikeIndexMigration once duplicates are removed
+@CompoundIndexes({
+        @CompoundIndex(name = "like_target_keyset_idx", def = "{'targetId': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "like_user_keyset_idx", def = "{'userId': 1, 'createdAt': -1, '_id': -1}")
+})
 @Getter
 @Setter
 @Builder
@@ -3,9 +3,12 @@ package com.exposer.models.entity;
 
 import lombok.*;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TextScore;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -14,22 +17,34 @@ import java.util.Set;
 @NoArgsConstructor
 @Getter
 @Setter
-@Builder
+@Builder(toBuilder = true)
 @Document(collection = "posts")
-@CompoundIndex(name = "post_author_active_idx", def = "{'author.$id': 1, 'isActive': 1}")
+@CompoundIndexes({
+        @CompoundIndex(name = "post_author_active_idx", def = "{'author.$id': 1, 'isActive': 1}"),
+        @CompoundIndex(name = "post_author_keyset_idx", def = "{'author.$id': 1, 'createdAt': -1, '_id': -1}"),
+        // Equality (tags, isActive), then the recommendation sort, then the createdAt range
+        @CompoundIndex(name = "post_recommendation_idx",
+                def = "{'tags': 1, 'isActive': 1, 'postStats.likeCount': -1, 'postStats.commentCount': -1, 'postStats.saveCount': -1, 'createdAt': -1}")
+})
 public class Post extends AbstractEntity {
 
     @Indexed
+    @TextIndexed(weight = 5)
     private String title;
+
+    @TextIndexed
     private String content;
     private String image;
 
     @DBRef(lazy = true)
     private User author;
 
+    private AuthorSnapshot authorSnapshot;
+
     @Builder.Default
     private boolean isActive = true;
 
+    @TextIndexed(weight = 3)
     @Builder.Default
     private Set<String> tags = new HashSet<>();
 
@@ -39,4 +54,10 @@ public class Post extends AbstractEntity {
     @Builder.Default
     private PostStats postStats = new PostStats();
 
+    /**
+     * Relevance of the post for a text search, only set on search results.
+     */
+    @TextScore
+    private Float score;
+
 }
@@ -1,10 +1,14 @@
 package com.exposer.models.entity;
 
+import com.exposer.models.entity.enums.LikeType;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 
 @Data
 @Builder
@@ -20,4 +24,10 @@ public class PostStats {
 
     @Builder.Default
     private long saveCount = 0;
+
+    /**
+     * Likes per reaction type, types without likes are absent
+     */
+    @Builder.Default
+    private Map<LikeType, Long> reactionCounts = new EnumMap<>(LikeType.class);
 }
@@ -2,6 +2,7 @@ package com.exposer.models.entity;
 
 
 import lombok.*;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
@@ -13,6 +14,7 @@ import org.springframework.data.mongodb.core.mapping.Document;
 @Setter
 @Builder
 @Document(collection = "saved_posts")
+@CompoundIndex(name = "saved_post_user_keyset_idx", def = "{'userId': 1, 'createdAt': -1, '_id': -1}")
 
 public class SavedPost extends AbstractEntity {
 
@@ -0,0 +1,39 @@
+package com.exposer.security;
+
+import com.exposer.models.dto.TokenClaims;
+import com.exposer.models.entity.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal built from the access token claims alone, used in stateless mode instead of a loaded {@code User}.
+ */
+public record AuthPrincipal(String id, String username, String role) implements UserDetails {
+
+    public static AuthPrincipal from(TokenClaims claims) {
+        return new AuthPrincipal(claims.userId(), claims.username(), claims.role());
+    }
+
+    public static AuthPrincipal from(User user) {
+        return new AuthPrincipal(user.getId(), user.getUsername(), user.getRole().name());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(role));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+}
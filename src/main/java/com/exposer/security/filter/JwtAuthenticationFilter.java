@@ -1,6 +1,9 @@
 package com.exposer.security.filter;
 
+import com.exposer.dao.interfaces.RevocationRegistry;
 import com.exposer.handler.ResponseHandler;
+import com.exposer.models.dto.TokenClaims;
+import com.exposer.security.AuthPrincipal;
 import com.exposer.security.CustomUserDetailService;
 import com.exposer.utils.AuthUtils;
 import jakarta.servlet.FilterChain;
@@ -9,6 +12,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -31,6 +35,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final CustomUserDetailService customUserService;
     private final AuthUtils authUtils;
+    private final RevocationRegistry revocationRegistry;
+
+    @Value("${auth.stateless:false}")
+    private boolean stateless;
 
     private static final List<String> PUBLIC_PATHS = List.of(
             "/actuator/**",
@@ -61,21 +69,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     return;
                 }
 
-                log.debug("Extracting username from token");
-                String username = authUtils.getUsernameFromToken(token);
-                log.debug("Username extracted: {}", username);
+                log.debug("Extracting claims from token");
+                TokenClaims claims = authUtils.parseToken(token);
 
-                String role = authUtils.getUserRoles(token);
-                log.debug("User role extracted: {}", role);
+                String username = claims.username();
+                String role = claims.role();
+                log.debug("Claims extracted: username={}, role={}", username, role);
 
                 List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(role));
 
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                if (stateless && username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+
+                    // Principal comes from the verified claims, only the in-memory revocation set is consulted
+                    if (revocationRegistry.isRevoked(claims.userId())) {
+                        log.warn("Rejected token of revoked user: {}", username);
+                    } else {
+                        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                                AuthPrincipal.from(claims), null, authorities
+                        );
+                        SecurityContextHolder.getContext().setAuthentication(authentication);
+                        log.debug("User {} authenticated statelessly with role: {}", username, role);
+                    }
+                } else if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                     log.debug("Loading user details for username: {}", username);
                     UserDetails userDetails = customUserService.loadUserByUsername(username);
 
                     log.debug("Validating JWT token");
-                    if (authUtils.validateToken(token, userDetails)) {
+                    if (authUtils.validateToken(claims, userDetails)) {
                         log.info("JWT token validation successful for user: {}", username);
 
                         Authentication authentication = new UsernamePasswordAuthenticationToken(
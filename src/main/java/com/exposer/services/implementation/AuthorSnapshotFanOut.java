@@ -0,0 +1,28 @@
+package com.exposer.services.implementation;
+
+import com.exposer.dao.interfaces.AuthorSnapshotDao;
+import com.exposer.models.entity.AuthorSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+/**
+ * Pushes a changed profile into the author snapshots of the user's posts and comments, off the request thread.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+class AuthorSnapshotFanOut {
+
+    private final AuthorSnapshotDao authorSnapshotDao;
+
+    @Async
+    public void publish(AuthorSnapshot snapshot) {
+        try {
+            authorSnapshotDao.updateSnapshot(snapshot);
+        } catch (Exception e) {
+            log.error("Author snapshot fan-out failed for user {}: {}", snapshot.getId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.exposer.services.implementation;
+
+import com.exposer.dao.interfaces.*;
+import com.exposer.models.dto.BulkInsertResult;
+import com.exposer.models.dto.request.*;
+import com.exposer.models.dto.response.BulkItemError;
+import com.exposer.models.dto.response.BulkWriteResponse;
+import com.exposer.models.entity.*;
+import com.exposer.models.entity.enums.LikeType;
+import com.exposer.models.entity.enums.TargetType;
+import com.exposer.services.interfaces.BulkImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports posts, comments and likes for migrations.
+ *
+ * @implNote Referenced users, posts and comments are looked up once per request, items referring to a
+ * missing one are reported and skipped. The rest is inserted in unordered batches by the DAOs, then
+ * counters are updated only for the inserted items.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+class BulkImportServiceImpl implements BulkImportService {
+
+    private final PostDao postDao;
+    private final CommentDao commentDao;
+    private final LikeDao likeDao;
+    private final UserDao userDao;
+    private final InteractionStateDao interactionStateDao;
+
+    @Override
+    public BulkWriteResponse importPosts(List<BulkPostItem> items) {
+        log.info("Starting bulk import of {} posts", items.size());
+
+        Map<String, User> authors = byId(userDao.findAllById(distinct(items, BulkPostItem::getAuthorId)));
+
+        Map<Integer, String> errors = new TreeMap<>();
+        List<Integer> positions = new ArrayList<>();
+        List<Post> posts = new ArrayList<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            BulkPostItem item = items.get(i);
+            User author = authors.get(item.getAuthorId());
+
+            if (author == null) {
+                errors.put(i, "Author not found");
+                continue;
+            }
+
+            CreatePostRequest request = item.getPost();
+            Post post = Post.builder()
+                    .title(request.getTitle())
+                    .content(request.getContent())
+                    .image(request.getImage())
+                    .tags(request.getTags())
+                    .author(author)
+                    .authorSnapshot(AuthorSnapshot.from(author))
+                    .build();
+            post.setCreatedBy(author.getUsername());
+
+            posts.add(post);
+            positions.add(i);
+        }
+
+        BulkInsertResult result = postDao.insertAll(posts);
+
+        log.info("Bulk import of posts finished: inserted={}, failed={}", result.inserted(), items.size() - result.inserted());
+        return toResponse(items.size(), positions, result, errors);
+    }
+
+    @Override
+    public BulkWriteResponse importComments(List<BulkCommentItem> items) {
+        log.info("Starting bulk import of {} comments", items.size());
+
+        Map<String, User> authors = byId(userDao.findAllById(distinct(items, BulkCommentItem::getAuthorId)));
+        Map<String, Post> posts = byId(postDao.findAllById(distinct(items, item -> item.getComment().getPostId())));
+        Map<String, Comment> parents = byId(commentDao.findAllById(distinct(items, BulkCommentItem::getParentCommentId)));
+
+        Map<Integer, String> errors = new TreeMap<>();
+        List<Integer> positions = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            BulkCommentItem item = items.get(i);
+            String postId = item.getComment().getPostId();
+            User author = authors.get(item.getAuthorId());
+
+            if (author == null) {
+                errors.put(i, "Author not found");
+                continue;
+            }
+            if (!posts.containsKey(postId)) {
+                errors.put(i, "Post not found");
+                continue;
+            }
+
+            String parentId = item.getParentCommentId();
+            if (parentId != null) {
+                Comment parent = parents.get(parentId);
+                if (parent == null || !postId.equals(parent.getPostId())) {
+                    errors.put(i, "Parent comment not found on this post");
+                    continue;
+                }
+                if (parent.isDeleted()) {
+                    errors.put(i, "Cannot reply to deleted comments");
+                    continue;
+                }
+            }
+
+            Comment comment = Comment.builder()
+                    .postId(postId)
+                    .user(author)
+                    .authorSnapshot(AuthorSnapshot.from(author))
+                    .description(item.getComment().getDescription())
+                    .parentCommentId(parentId)
+                    .build();
+            comment.setCreatedBy(author.getUsername());
+
+            comments.add(comment);
+            positions.add(i);
+        }
+
+        BulkInsertResult result = commentDao.insertAll(comments);
+
+        for (int i = 0; i < comments.size(); i++) {
+            if (result.errors().containsKey(i)) continue;
+
+            Comment comment = comments.get(i);
+            if (comment.getParentCommentId() == null) {
+                postDao.updatePostForNewComment(comment.getPostId());
+            } else {
+                commentDao.increaseReplyCount(comment.getParentCommentId());
+            }
+        }
+
+        log.info("Bulk import of comments finished: inserted={}, failed={}", result.inserted(), items.size() - result.inserted());
+        return toResponse(items.size(), positions, result, errors);
+    }
+
+    @Override
+    public BulkWriteResponse importLikes(List<BulkLikeItem> items) {
+        log.info("Starting bulk import of {} likes", items.size());
+
+        Map<String, User> users = byId(userDao.findAllById(distinct(items, BulkLikeItem::getUserId)));
+        Set<String> posts = byId(postDao.findAllById(distinctTargets(items, TargetType.POST))).keySet();
+        Set<String> comments = byId(commentDao.findAllById(distinctTargets(items, TargetType.COMMENT))).keySet();
+
+        Map<Integer, String> errors = new TreeMap<>();
+        List<Integer> positions = new ArrayList<>();
+        List<Like> likes = new ArrayList<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            BulkLikeItem item = items.get(i);
+            CreateLikeRequest request = item.getLike();
+
+            User user = users.get(item.getUserId());
+            if (user == null) {
+                errors.put(i, "User not found");
+                continue;
+            }
+
+            Set<String> targets = request.getTargetType() == TargetType.COMMENT ? comments : posts;
+            if (!targets.contains(request.getTargetId())) {
+                errors.put(i, "Target not found");
+                continue;
+            }
+
+            Like like = Like.builder()
+                    .userId(item.getUserId())
+                    .targetId(request.getTargetId())
+                    .targetType(request.getTargetType())
+                    .likeType(request.getLikeType())
+                    .build();
+            like.setCreatedBy(user.getUsername());
+
+            likes.add(like);
+            positions.add(i);
+        }
+
+        BulkInsertResult result = likeDao.insertAll(likes);
+
+        // Counted per target and user first, so the counters and like sets cost one round trip each
+        Map<String, Map<LikeType, Long>> postLikes = new HashMap<>();
+        Map<String, Map<LikeType, Long>> commentLikes = new HashMap<>();
+        Map<String, Set<String>> likedByUser = new HashMap<>();
+
+        for (int i = 0; i < likes.size(); i++) {
+            if (result.errors().containsKey(i)) continue;
+
+            Like like = likes.get(i);
+            Map<String, Map<LikeType, Long>> byTarget = like.getTargetType() == TargetType.COMMENT ? commentLikes : postLikes;
+            byTarget.computeIfAbsent(like.getTargetId(), _ -> new EnumMap<>(LikeType.class))
+                    .merge(like.getLikeType(), 1L, Long::sum);
+            likedByUser.computeIfAbsent(like.getUserId(), _ -> new HashSet<>()).add(like.getTargetId());
+        }
+
+        postDao.incrementLikeCounts(postLikes);
+        commentDao.incrementLikeCounts(commentLikes);
+        interactionStateDao.recordLikes(likedByUser);
+
+        log.info("Bulk import of likes finished: inserted={}, failed={}", result.inserted(), items.size() - result.inserted());
+        return toResponse(items.size(), positions, result, errors);
+    }
+
+    /**
+     * Merges the insert errors, indexed by entity, into the validation errors, indexed by request item.
+     */
+    private BulkWriteResponse toResponse(int requested, List<Integer> positions, BulkInsertResult result, Map<Integer, String> errors) {
+
+        result.errors().forEach((index, message) -> errors.put(positions.get(index), message));
+
+        List<BulkItemError> itemErrors = errors.entrySet().stream()
+                .map(error -> BulkItemError.builder().index(error.getKey()).message(error.getValue()).build())
+                .toList();
+
+        return BulkWriteResponse.builder()
+                .requested(requested)
+                .inserted(result.inserted())
+                .errors(itemErrors)
+                .build();
+    }
+
+    private <I> Set<String> distinct(List<I> items, Function<I, String> id) {
+        return items.stream().map(id).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    private Set<String> distinctTargets(List<BulkLikeItem> items, TargetType type) {
+        return items.stream()
+                .map(BulkLikeItem::getLike)
+                .filter(like -> like.getTargetType() == type)
+                .map(CreateLikeRequest::getTargetId)
+                .collect(Collectors.toSet());
+    }
+
+    private <E extends AbstractEntity> Map<String, E> byId(List<E> entities) {
+        return entities.stream().collect(Collectors.toMap(AbstractEntity::getId, Function.identity(), (first, _) -> first));
+    }
+}
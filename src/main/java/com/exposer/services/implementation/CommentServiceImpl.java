@@ -8,15 +8,17 @@ import com.exposer.models.dto.request.EditCommentRequest;
 import com.exposer.models.dto.request.PaginationRequest;
 import com.exposer.models.dto.response.CommentResponse;
 import com.exposer.models.dto.response.PagedResponse;
+import com.exposer.models.entity.AuthorSnapshot;
 import com.exposer.models.entity.Comment;
 import com.exposer.models.entity.User;
+import com.exposer.security.AuthPrincipal;
 import com.exposer.services.interfaces.CommentService;
 import com.exposer.utils.AuthUtils;
 import com.exposer.utils.CommonUtil;
 import com.exposer.utils.mapper.CommentMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -37,11 +39,11 @@ class CommentServiceImpl implements CommentService {
 
     @Override
     @Transactional
-    public CommentResponse addComment(String token, CommentRequest commentRequest) {
+    public CommentResponse addComment(AuthPrincipal principal, CommentRequest commentRequest) {
 
         log.info("Starting to add comment for postId: {}", commentRequest.getPostId());
 
-        User user = authUtils.getUserFromToken(token);
+        User user = authUtils.getUser(principal);
         log.debug("Retrieved user from token: userId={}, username={}",
                 user.getId(), user.getUsername());
 
@@ -54,6 +56,7 @@ class CommentServiceImpl implements CommentService {
         Comment comment = Comment.builder()
                 .postId(postId)
                 .user(user)
+                .authorSnapshot(AuthorSnapshot.from(user))
                 .description(commentRequest.getDescription())
                 .build();
 
@@ -70,10 +73,10 @@ class CommentServiceImpl implements CommentService {
 
     @Override
     @Transactional
-    public CommentResponse replyComment(String token, String commentId, CommentRequest commentRequest) {
+    public CommentResponse replyComment(AuthPrincipal principal, String commentId, CommentRequest commentRequest) {
 
         log.info("Starting to add reply to comment: commentId={}", commentId);
-        User user = authUtils.getUserFromToken(token);
+        User user = authUtils.getUser(principal);
         log.debug("Retrieved user from token: userId={}", user.getId());
 
         Comment parentComment = commentDao.findById(commentId).orElseThrow(
@@ -102,6 +105,7 @@ class CommentServiceImpl implements CommentService {
         Comment reply = Comment.builder()
                 .postId(commentRequest.getPostId())
                 .user(user)
+                .authorSnapshot(AuthorSnapshot.from(user))
                 .description(commentRequest.getDescription())
                 .parentCommentId(commentId)
                 .build();
@@ -126,11 +130,11 @@ class CommentServiceImpl implements CommentService {
 
     @Override
     @Transactional
-    public CommentResponse editComment(String token, String commentId, EditCommentRequest commentRequest) {
+    public CommentResponse editComment(AuthPrincipal principal, String commentId, EditCommentRequest commentRequest) {
 
         log.info("Starting to edit comment: commentId={}", commentId);
 
-        Comment comment = validateCommentAuthority(token, commentId);
+        Comment comment = validateCommentAuthority(principal, commentId);
 
         String description = commentRequest.getDescription();
 
@@ -152,21 +156,22 @@ class CommentServiceImpl implements CommentService {
         comment.setEdited(true);
 
         log.info("Saving edited comment: commentId={}", commentId);
-        Comment saved = commentDao.save(comment);
+        Comment saved = commentDao.updateDetails(comment).orElseThrow(
+                () -> new ResourceNotFoundException(RESOURCE_NOT_FOUND_MESSAGE));
 
         log.info("Comment edited successfully: commentId={}", commentId);
         return CommentMapper.toCommentResponse(saved);
     }
 
     @Override
-    public void deleteComment(String token, String commentId) {
+    public void deleteComment(AuthPrincipal principal, String commentId) {
         log.info("Starting to delete comment: commentId={}", commentId);
-        Comment comment = validateCommentAuthority(token, commentId);
+        Comment comment = validateCommentAuthority(principal, commentId);
 
         comment.setDeleted(true);
 
         log.info("Saving soft-deleted comment: commentId={}", commentId);
-        commentDao.save(comment);
+        commentDao.updateDetails(comment);
 
         log.info("Comment soft-deleted successfully: commentId={}", commentId);
 
@@ -176,25 +181,25 @@ class CommentServiceImpl implements CommentService {
     public PagedResponse<CommentResponse> getAllComments(PaginationRequest paginationRequest) {
         log.debug("Fetching all comments with pagination: page={}, size={}",
                 paginationRequest.getPage(), paginationRequest.getSize());
-        Page<Comment> comments = commentDao.findAll(paginationRequest);
-        log.info("Retrieved {} comments from total {}",
-                comments.getNumberOfElements(), comments.getTotalElements());
+        Slice<Comment> comments = commentDao.findAll(paginationRequest);
+        log.info("Retrieved {} comments",
+                comments.getNumberOfElements());
 
         return CommonUtil.buildPagedResponse(comments, CommentMapper::toCommentResponse);
     }
 
     @Override
-    public PagedResponse<CommentResponse> getAllCommentByUser(String token, PaginationRequest paginationRequest) {
+    public PagedResponse<CommentResponse> getAllCommentByUser(AuthPrincipal principal, PaginationRequest paginationRequest) {
         log.debug("Fetching comments by user with pagination: page={}, size={}",
                 paginationRequest.getPage(), paginationRequest.getSize());
 
-        String userId = authUtils.getUserIdFromToken(token);
+        String userId = principal.id();
 
         log.debug("Fetching comments for user: userId={}", userId);
-        Page<Comment> comments = commentDao.findByUserId(userId, paginationRequest);
+        Slice<Comment> comments = commentDao.findByUserId(userId, paginationRequest);
 
-        log.info("Retrieved {} comments for user {} from total {}",
-                comments.getNumberOfElements(), userId, comments.getTotalElements());
+        log.info("Retrieved {} comments for user {}",
+                comments.getNumberOfElements(), userId);
 
         return CommonUtil.buildPagedResponse(comments, CommentMapper::toCommentResponse);
 
@@ -225,11 +230,11 @@ class CommentServiceImpl implements CommentService {
 
         checkIfPostExistOrNot(postId);
 
-        Page<Comment> comments = commentDao.findByPostId(postId, paginationRequest);
-        log.info("Retrieved {} comments for post {} from total {}",
-                comments.getNumberOfElements(), postId, comments.getTotalElements());
+        PagedResponse<CommentResponse> comments = commentDao.findByPostId(postId, paginationRequest);
+        log.info("Retrieved {} comments for post {}",
+                comments.getContent().size(), postId);
 
-        return CommonUtil.buildPagedResponse(comments, CommentMapper::toCommentResponse);
+        return comments;
     }
 
 
@@ -238,17 +243,17 @@ class CommentServiceImpl implements CommentService {
         log.debug("Fetching replies for comment: {}  with pagination: page={}, size={}",
                 commentId, paginationRequest.getPage(), paginationRequest.getSize());
 
-        Page<Comment> replies = commentDao.findRepliesByComment(commentId, paginationRequest);
+        Slice<Comment> replies = commentDao.findRepliesByComment(commentId, paginationRequest);
 
-        log.info("Retrieved {} replies for comments {} from total {}",
-                replies.getNumberOfElements(), commentId, replies.getTotalElements());
+        log.info("Retrieved {} replies for comments {}",
+                replies.getNumberOfElements(), commentId);
 
         return CommonUtil.buildPagedResponse(replies, CommentMapper::toCommentResponse);
     }
 
-    private Comment validateCommentAuthority(String token, String commentId) {
+    private Comment validateCommentAuthority(AuthPrincipal principal, String commentId) {
 
-        String userId = authUtils.getUserIdFromToken(token);
+        String userId = principal.id();
         log.debug("Retrieved userId from token: userId={}", userId);
 
         log.debug("Fetching comment: commentId={}", commentId);
@@ -1,24 +1,30 @@
 package com.exposer.services.implementation;
 
 import com.exposer.dao.interfaces.CommentDao;
+import com.exposer.dao.interfaces.InteractionStateDao;
 import com.exposer.dao.interfaces.LikeDao;
 import com.exposer.dao.interfaces.PostDao;
-import com.exposer.exception.ExistDataException;
+import com.exposer.dao.interfaces.StatsDao;
 import com.exposer.exception.ResourceNotFoundException;
+import com.exposer.models.dto.UpsertResult;
 import com.exposer.models.dto.request.CreateLikeRequest;
 import com.exposer.models.dto.request.PaginationRequest;
 import com.exposer.models.dto.response.LikeResponse;
+import com.exposer.models.dto.response.LikeToggleResponse;
 import com.exposer.models.dto.response.PagedResponse;
 import com.exposer.models.entity.Like;
+import com.exposer.models.entity.enums.LikeType;
+import com.exposer.security.AuthPrincipal;
 import com.exposer.services.interfaces.LikeService;
-import com.exposer.utils.AuthUtils;
 import com.exposer.utils.CommonUtil;
 import com.exposer.utils.mapper.LikeMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.Optional;
 
 import static com.exposer.constants.ErrorMessage.RESOURCE_NOT_FOUND_MESSAGE;
 
@@ -30,110 +36,116 @@ class LikeServiceImpl implements LikeService {
     private final LikeDao likeDao;
     private final PostDao postDao;
     private final CommentDao commentDao;
-    private final AuthUtils authUtils;
+    private final InteractionStateDao interactionStateDao;
+    private final StatsDao statsDao;
 
-    @Transactional
+    /**
+     * @implNote Idempotent: liking a target twice returns the existing like and counts it once. Liking it
+     * again with another reaction switches the reaction of the existing like.
+     */
     @Override
-    public LikeResponse createLike(String token, CreateLikeRequest createLikeRequest) {
+    public LikeResponse createLike(AuthPrincipal principal, CreateLikeRequest createLikeRequest) {
         log.info("Starting to create like for target: targetId={}, targetType={}, likeType={}",
                 createLikeRequest.getTargetId(),
                 createLikeRequest.getTargetType(),
                 createLikeRequest.getLikeType());
 
-        String userId = authUtils.getUserIdFromToken(token);
-        log.debug("Retrieved userId from token: userId={}", userId);
-
-        String targetId = createLikeRequest.getTargetId();
-        log.debug("Checking if like already exists: userId={}, targetId={}", userId, targetId);
-
         validateTargetId(createLikeRequest);
 
-        boolean exists = likeDao.existsByUserIdAndTargetId(userId, targetId);
-        if (exists) {
-            log.warn("User already liked this target: userId={}, targetId={}", userId, targetId);
-            throw new ExistDataException("Already liked");
-        }
-
-
-        log.debug("Creating Like entity: userId={}, targetId={}, targetType={}, likeType={}",
-                userId, targetId, createLikeRequest.getTargetType(), createLikeRequest.getLikeType());
-
-        Like like = Like.builder()
-                .userId(userId)
-                .targetId(targetId)
-                .likeType(createLikeRequest.getLikeType())
-                .targetType(createLikeRequest.getTargetType())
-                .build();
-
-        log.info("Saving like: userId={}, targetId={}", userId, targetId);
-        Like liked = likeDao.save(like);
-
-        // update like count in post/comment
-        incrementLikeForPostOrComment(liked);
+        Like liked = insertLike(principal, createLikeRequest);
 
         log.info("Like created successfully: likeId={}, userId={}, targetId={}, targetType={}",
-                liked.getId(), userId, targetId, liked.getTargetType());
+                liked.getId(), principal.id(), liked.getTargetId(), liked.getTargetType());
 
         return LikeMapper.toLikeResponse(liked);
     }
 
     @Override
-    public void deleteLike(String token, String likeId) {
+    public void deleteLike(AuthPrincipal principal, String likeId) {
         log.info("Starting to delete like: likeId={}", likeId);
 
-        String userId = authUtils.getUserIdFromToken(token);
+        String userId = principal.id();
 
-        log.debug("Fetching like to delete: likeId={}", likeId);
-        Like like = likeDao.findById(likeId).orElseThrow(
-                () -> {
-                    log.warn("Like not found for deletion: likeId={}", likeId);
-                    return new ResourceNotFoundException(RESOURCE_NOT_FOUND_MESSAGE);
-                }
-        );
+        // Removed only if owned by the user, so a concurrent delete cannot decrement twice
+        Optional<Like> deleted = likeDao.deleteByIdAndUserId(likeId, userId);
 
-        log.debug("Validating user authority to delete like: userId={}, likeUserId={}",
-                userId, like.getUserId());
-        LikeService.validateAuthority(userId, like);
+        if (deleted.isEmpty()) {
+            Like like = likeDao.findById(likeId).orElseThrow(
+                    () -> {
+                        log.warn("Like not found for deletion: likeId={}", likeId);
+                        return new ResourceNotFoundException(RESOURCE_NOT_FOUND_MESSAGE);
+                    }
+            );
 
-        log.info("Deleting like: likeId={}, userId={}, targetId={}",
-                likeId, userId, like.getTargetId());
+            log.debug("Validating user authority to delete like: userId={}, likeUserId={}",
+                    userId, like.getUserId());
+            LikeService.validateAuthority(userId, like);
+            return;
+        }
+
+        Like like = deleted.get();
 
         // update like count in post/comment
         decrementLikeForPostOrComment(like);
-
-        likeDao.deleteById(likeId);
-
+        interactionStateDao.recordLike(userId, like.getTargetId(), false);
 
         log.info("Like deleted successfully: likeId={}, userId={}, targetId={}",
                 likeId, userId, like.getTargetId());
     }
 
+    @Override
+    public LikeToggleResponse toggleLike(AuthPrincipal principal, CreateLikeRequest createLikeRequest) {
+
+        String userId = principal.id();
+        String targetId = createLikeRequest.getTargetId();
+        log.info("Toggling like: userId={}, targetId={}", userId, targetId);
+
+        Optional<Like> removed = likeDao.deleteByUserIdAndTargetId(userId, targetId);
+        if (removed.isPresent()) {
+            decrementLikeForPostOrComment(removed.get());
+            interactionStateDao.recordLike(userId, targetId, false);
+
+            log.info("Like toggled off: likeId={}, userId={}, targetId={}", removed.get().getId(), userId, targetId);
+            return LikeToggleResponse.builder().liked(false).build();
+        }
+
+        validateTargetId(createLikeRequest);
+
+        Like liked = insertLike(principal, createLikeRequest);
+
+        log.info("Like toggled on: likeId={}, userId={}, targetId={}", liked.getId(), userId, targetId);
+        return LikeToggleResponse.builder()
+                .liked(true)
+                .like(LikeMapper.toLikeResponse(liked))
+                .build();
+    }
+
     @Override
     public PagedResponse<LikeResponse> getLikes(PaginationRequest paginationRequest) {
         log.debug("Fetching all likes with pagination: page={}, size={}",
                 paginationRequest.getPage(), paginationRequest.getSize());
 
         log.info("Retrieving all likes across all targets and users");
-        Page<Like> likes = likeDao.findAll(paginationRequest);
+        Slice<Like> likes = likeDao.findAll(paginationRequest);
 
-        log.info("Retrieved {} likes from total {} across all targets",
-                likes.getNumberOfElements(), likes.getTotalElements());
+        log.info("Retrieved {} likes across all targets",
+                likes.getNumberOfElements());
 
         return CommonUtil.buildPagedResponse(likes, LikeMapper::toLikeResponse);
     }
 
     @Override
-    public PagedResponse<LikeResponse> getMyLikes(String token, PaginationRequest paginationRequest) {
+    public PagedResponse<LikeResponse> getMyLikes(AuthPrincipal principal, PaginationRequest paginationRequest) {
         log.debug("Fetching user's likes with pagination: page={}, size={}",
                 paginationRequest.getPage(), paginationRequest.getSize());
 
-        String userId = authUtils.getUserIdFromToken(token);
+        String userId = principal.id();
 
         log.debug("Fetching likes for user: userId={}", userId);
-        Page<Like> myLikes = likeDao.findByUserId(userId, paginationRequest);
+        Slice<Like> myLikes = likeDao.findByUserId(userId, paginationRequest);
 
-        log.info("Retrieved {} likes for user {} from total {}",
-                myLikes.getNumberOfElements(), userId, myLikes.getTotalElements());
+        log.info("Retrieved {} likes for user {}",
+                myLikes.getNumberOfElements(), userId);
 
 
         return CommonUtil.buildPagedResponse(myLikes, LikeMapper::toLikeResponse);
@@ -144,21 +156,66 @@ class LikeServiceImpl implements LikeService {
         log.debug("Fetching likes for target: targetId={} with pagination: page={}, size={}",
                 targetId, paginationRequest.getPage(), paginationRequest.getSize());
 
-        Page<Like> likesOfTheTargetId = likeDao.findByTargetId(targetId, paginationRequest);
+        Slice<Like> likesOfTheTargetId = likeDao.findByTargetId(targetId, paginationRequest);
 
-        log.info("Retrieved {} likes for target {} from total {}",
-                likesOfTheTargetId.getNumberOfElements(), targetId, likesOfTheTargetId.getTotalElements());
+        log.info("Retrieved {} likes for target {}",
+                likesOfTheTargetId.getNumberOfElements(), targetId);
 
 
         return CommonUtil.buildPagedResponse(likesOfTheTargetId, LikeMapper::toLikeResponse);
     }
 
 
+    @Override
+    public Map<LikeType, Long> getReactionCounts(String targetId) {
+        log.debug("Fetching reaction counts for target: targetId={}", targetId);
+        return statsDao.findReactionCounts(targetId);
+    }
+
+    /**
+     * Inserts the like unless it exists; the counter moves only when this call inserted it. An existing
+     * like with another reaction is switched, moving the reaction counts but not the like count.
+     */
+    private Like insertLike(AuthPrincipal principal, CreateLikeRequest request) {
+
+        Like like = Like.builder()
+                .userId(principal.id())
+                .targetId(request.getTargetId())
+                .likeType(request.getLikeType())
+                .targetType(request.getTargetType())
+                .build();
+        like.setCreatedBy(principal.username());
+
+        UpsertResult<Like> result = likeDao.insertIfAbsent(like);
+
+        if (result.inserted()) {
+            incrementLikeForPostOrComment(result.value());
+            interactionStateDao.recordLike(principal.id(), request.getTargetId(), true);
+            return result.value();
+        }
+
+        Like existing = result.value();
+        if (existing.getLikeType() == request.getLikeType()) {
+            log.debug("User already liked this target: userId={}, targetId={}", principal.id(), request.getTargetId());
+            return existing;
+        }
+
+        // Conditional on the reaction read, so concurrent switches move the counts once each
+        return likeDao.updateLikeType(existing.getId(), existing.getLikeType(), request.getLikeType())
+                .map(switched -> {
+                    decrementLikeForPostOrComment(existing);
+                    incrementLikeForPostOrComment(switched);
+                    log.info("Reaction switched: likeId={}, from={}, to={}", switched.getId(), existing.getLikeType(), switched.getLikeType());
+                    return switched;
+                })
+                .orElseGet(() -> likeDao.findById(existing.getId()).orElse(existing));
+    }
+
     private void decrementLikeForPostOrComment(Like like) {
 
         switch (like.getTargetType()) {
-            case POST -> postDao.decrementLikeCount(like.getTargetId());
-            case COMMENT -> commentDao.decrementLikeCount(like.getTargetId());
+            case POST -> postDao.decrementLikeCount(like.getTargetId(), like.getLikeType());
+            case COMMENT -> commentDao.decrementLikeCount(like.getTargetId(), like.getLikeType());
             case null -> log.info("Like type is getting null. Skipping decrementing.");
             default -> throw new IllegalArgumentException("Un supported Like Type");
         }
@@ -168,8 +225,8 @@ class LikeServiceImpl implements LikeService {
     private void incrementLikeForPostOrComment(Like like) {
 
         switch (like.getTargetType()) {
-            case POST -> postDao.incrementLikeCount(like.getTargetId());
-            case COMMENT -> commentDao.incrementLikeCount(like.getTargetId());
+            case POST -> postDao.incrementLikeCount(like.getTargetId(), like.getLikeType());
+            case COMMENT -> commentDao.incrementLikeCount(like.getTargetId(), like.getLikeType());
             case null -> log.info("Like type is getting null. Skipping incrementing.");
             default -> throw new IllegalArgumentException("Un-Supported Like Type");
         }
@@ -1,20 +1,25 @@
 package com.exposer.services.implementation;
 
+import com.exposer.dao.interfaces.InteractionStateDao;
 import com.exposer.dao.interfaces.PostDao;
+import com.exposer.dao.interfaces.TrendingDao;
 import com.exposer.exception.ResourceNotFoundException;
 import com.exposer.models.dto.request.*;
+import com.exposer.models.dto.response.InteractionStateResponse;
 import com.exposer.models.dto.response.PagedResponse;
 import com.exposer.models.dto.response.PostResponse;
 import com.exposer.models.dto.response.admin.AdminPostResponse;
+import com.exposer.models.entity.AuthorSnapshot;
 import com.exposer.models.entity.Post;
 import com.exposer.models.entity.User;
+import com.exposer.security.AuthPrincipal;
 import com.exposer.services.interfaces.PostService;
 import com.exposer.utils.AuthUtils;
 import com.exposer.utils.CommonUtil;
 import com.exposer.utils.mapper.PostMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,19 +34,21 @@ import static com.exposer.constants.ErrorMessage.RESOURCE_NOT_FOUND_MESSAGE;
 class PostServiceImpl implements PostService {
 
     private final PostDao postDao;
+    private final TrendingDao trendingDao;
     private final AuthUtils authUtils;
+    private final InteractionStateDao interactionStateDao;
 
 
     @Override
     @Transactional
-    public PostResponse addPost(String token, CreatePostRequest request) {
+    public PostResponse addPost(AuthPrincipal principal, CreatePostRequest request) {
         log.info("Starting to add new post. Title: {}", request.getTitle());
         log.debug("CreatePostRequest details - Title: {}, Content length: {}, Tags count: {}",
                 request.getTitle(),
                 request.getContent() != null ? request.getContent().length() : 0,
                 request.getTags() != null ? request.getTags().size() : 0);
 
-        User user = authUtils.getUserFromToken(token);
+        User user = authUtils.getUser(principal);
         log.debug("Retrieved user from token: {}", user.getId());
 
         Post post = Post.builder()
@@ -50,6 +57,7 @@ class PostServiceImpl implements PostService {
                 .image(request.getImage())
                 .tags(request.getTags())
                 .author(user)
+                .authorSnapshot(AuthorSnapshot.from(user))
                 .build();
 
         log.info("Attempting to save post to database. Post ID will be generated.");
@@ -63,11 +71,11 @@ class PostServiceImpl implements PostService {
 
     @Transactional
     @Override
-    public PostResponse editPost(String token, String postId, EditPostRequest request) {
+    public PostResponse editPost(AuthPrincipal principal, String postId, EditPostRequest request) {
 
         log.info("Starting to edit post. Post ID: {}", postId);
-        User user = authUtils.getUserFromToken(token);
-        log.debug("Retrieved user from token for edit operation. User ID: {}", user.getId());
+        String userId = principal.id();
+        log.debug("Retrieved user from token for edit operation. User ID: {}", userId);
 
         Post post = postDao.findById(postId).orElseThrow(
                 () -> {
@@ -80,8 +88,8 @@ class PostServiceImpl implements PostService {
                 post.getId(), post.getAuthor().getId(), post.isActive());
 
 
-        PostService.validateAuthority(user, post);
-        log.debug("Authority validation passed for user: {} on post: {}", user.getId(), postId);
+        PostService.validateAuthority(userId, post);
+        log.debug("Authority validation passed for user: {} on post: {}", userId, postId);
 
         Optional.ofNullable(request.getContent()).ifPresent(post::setContent);
         Optional.ofNullable(request.getTitle()).ifPresent(post::setTitle);
@@ -92,7 +100,8 @@ class PostServiceImpl implements PostService {
                 .filter(tags -> !tags.isEmpty())
                 .ifPresent(post::setTags);
 
-        Post updated = postDao.save(post);
+        Post updated = postDao.updateDetails(post).orElseThrow(
+                () -> new ResourceNotFoundException(RESOURCE_NOT_FOUND_MESSAGE));
         log.info("Post updated successfully. Post ID: {}", updated.getId());
 
         return PostMapper.toPostResponse(updated);
@@ -101,15 +110,15 @@ class PostServiceImpl implements PostService {
 
     @Transactional
     @Override
-    public PostResponse updatePostStatus(String token, UpdatePostStatusRequest request) {
+    public PostResponse updatePostStatus(AuthPrincipal principal, UpdatePostStatusRequest request) {
 
         String postId = request.getPostId();
         log.info("Starting to update post status. Post ID: {}, Requested status: {}",
                 postId, request.getStatus());
 
 
-        User user = authUtils.getUserFromToken(token);
-        log.debug("Retrieved user from token for status update. User ID: {}", user.getId());
+        String userId = principal.id();
+        log.debug("Retrieved user from token for status update. User ID: {}", userId);
 
         Post post = postDao.findById(postId).orElseThrow(
                 () -> {
@@ -121,20 +130,21 @@ class PostServiceImpl implements PostService {
         log.debug("Found post for status update. Current status: {}, Author ID: {}",
                 post.isActive(), post.getAuthor().getId());
 
-        PostService.validateAuthority(user, post);
+        PostService.validateAuthority(userId, post);
 
         log.debug("Authority validation passed for status update on post: {}", postId);
 
         if (request.getStatus() == null || post.isActive() == request.getStatus()) {
             log.info("Post status unchanged. Current and requested status are the same: {}",
                     post.isActive());
-            return PostMapper.toPostResponse(postDao.save(post));
+            return PostMapper.toPostResponse(post);
         }
 
         log.info("Changing post status from {} to {}", post.isActive(), request.getStatus());
         post.setActive(request.getStatus());
 
-        Post updated = postDao.save(post);
+        Post updated = postDao.updateDetails(post).orElseThrow(
+                () -> new ResourceNotFoundException(RESOURCE_NOT_FOUND_MESSAGE));
         log.info("Post status updated successfully. Post ID: {}, New status: {}",
                 updated.getId(), updated.isActive());
 
@@ -159,18 +169,18 @@ class PostServiceImpl implements PostService {
     }
 
     @Override
-    public PagedResponse<PostResponse> myPost(String token, PaginationRequest request) {
+    public PagedResponse<PostResponse> myPost(AuthPrincipal principal, PaginationRequest request) {
         log.info("Retrieving user's own posts with pagination. Page: {}, Size: {}",
                 request.getPage(), request.getSize());
 
-        User user = authUtils.getUserFromToken(token);
-        log.debug("Retrieved user from token. User ID: {}", user.getId());
+        String userId = principal.id();
+        log.debug("Retrieved user from token. User ID: {}", userId);
 
-        PagedResponse<PostResponse> page = postDao.findByUser(user.getId(), request);
+        PagedResponse<PostResponse> page = postDao.findByUser(userId, request);
 
         log.info("Retrieved {} posts for user {} (total: {}, pages: {}, current page: {})",
                 page.getTotalElements(),
-                user.getId(),
+                userId,
                 page.getTotalElements(),
                 page.getTotalPages(),
                 page.getPageNumber());
@@ -220,12 +230,11 @@ class PostServiceImpl implements PostService {
                 paginationRequest.getPage(),
                 paginationRequest.getSize(),
                 paginationRequest.getSortBy());
-        Page<Post> search = postDao.search(request, paginationRequest);
-        log.info("Search result {} posts (total: {}, pages: {}, current page: {})",
+        Slice<Post> search = postDao.search(request, paginationRequest);
+        log.info("Search result {} posts (current page: {}, has next: {})",
                 search.getNumberOfElements(),
-                search.getTotalElements(),
-                search.getTotalPages(),
-                search.getNumber());
+                search.getNumber(),
+                search.hasNext());
 
         return CommonUtil.buildPagedResponse(search, PostMapper::toPostSearchResponse);
 
@@ -237,10 +246,24 @@ class PostServiceImpl implements PostService {
         // if no tag is provided then recommendation based on default tag
         Set<String> tags = CommonUtil.parseCommaSeparatedTags(interestTagHeader);
 
-        Page<Post> recommendation = postDao.recommendation(tags, paginationRequest);
+        // Served from the precomputed trending feed, Mongo only until the feed is built
+        Slice<Post> recommendation = trendingDao.findTrending(tags, paginationRequest)
+                .orElseGet(() -> postDao.recommendation(tags, paginationRequest));
 
         return CommonUtil.buildPagedResponse(recommendation, PostMapper::toPostResponse);
     }
 
+    @Override
+    public InteractionStateResponse getInteractionState(AuthPrincipal principal, InteractionStateRequest request) {
+
+        String userId = principal.id();
+        log.debug("Retrieving like and save state: userId={}, targets={}", userId, request.getTargetIds().size());
+
+        return InteractionStateResponse.builder()
+                .liked(interactionStateDao.likedAmong(userId, request.getTargetIds()))
+                .saved(interactionStateDao.savedAmong(userId, request.getTargetIds()))
+                .build();
+    }
+
 
 }
@@ -1,5 +1,6 @@
 package com.exposer.services.implementation;
 
+import com.exposer.dao.interfaces.InteractionStateDao;
 import com.exposer.dao.interfaces.PostDao;
 import com.exposer.dao.interfaces.SavedPostDao;
 import com.exposer.exception.ExistDataException;
@@ -10,13 +11,13 @@ import com.exposer.models.dto.response.PagedResponse;
 import com.exposer.models.dto.response.SavedPostResponse;
 import com.exposer.models.entity.Post;
 import com.exposer.models.entity.SavedPost;
+import com.exposer.security.AuthPrincipal;
 import com.exposer.services.interfaces.SavedPostService;
-import com.exposer.utils.AuthUtils;
 import com.exposer.utils.CommonUtil;
 import com.exposer.utils.mapper.SavedPostMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,14 +30,14 @@ class SavedPostServiceImpl implements SavedPostService {
 
     private final SavedPostDao savedPostDao;
     private final PostDao postDao;
-    private final AuthUtils authUtils;
+    private final InteractionStateDao interactionStateDao;
 
     @Override
     @Transactional
-    public SavedPostResponse savePost(String token, SavedPostRequest savedPostRequest) {
+    public SavedPostResponse savePost(AuthPrincipal principal, SavedPostRequest savedPostRequest) {
         log.info("Starting to save post for user, postId: {}", savedPostRequest.getPostId());
 
-        String userId = authUtils.getUserIdFromToken(token);
+        String userId = principal.id();
         log.debug("Retrieved userId from token: userId={}", userId);
 
         String postId = savedPostRequest.getPostId();
@@ -71,6 +72,7 @@ class SavedPostServiceImpl implements SavedPostService {
         SavedPost saved = savedPostDao.save(savedPost);
 
         postDao.incrementSaveCount(postId);
+        interactionStateDao.recordSave(userId, postId, true);
 
         log.info("Post saved successfully: savedPostId={}, userId={}, postId={}",
                 saved.getId(), userId, postId);
@@ -84,28 +86,28 @@ class SavedPostServiceImpl implements SavedPostService {
                 paginationRequest.getPage(), paginationRequest.getSize());
 
         log.info("Retrieving all saved posts across all users");
-        Page<SavedPost> allSavedPosts = savedPostDao.findAll(paginationRequest);
+        Slice<SavedPost> allSavedPosts = savedPostDao.findAll(paginationRequest);
 
-        log.info("Retrieved {} saved posts from total {} across all users",
-                allSavedPosts.getNumberOfElements(), allSavedPosts.getTotalElements());
+        log.info("Retrieved {} saved posts across all users",
+                allSavedPosts.getNumberOfElements());
 
 
         return CommonUtil.buildPagedResponse(allSavedPosts, SavedPostMapper::toSavedPostResponse);
     }
 
     @Override
-    public PagedResponse<SavedPostResponse> mySavedPost(String token, PaginationRequest paginationRequest) {
+    public PagedResponse<SavedPostResponse> mySavedPost(AuthPrincipal principal, PaginationRequest paginationRequest) {
         log.debug("Fetching user's saved posts with pagination: page={}, size={}",
                 paginationRequest.getPage(), paginationRequest.getSize());
 
-        String userId = authUtils.getUserIdFromToken(token);
+        String userId = principal.id();
 
 
         log.debug("Fetching saved posts for user: userId={}", userId);
-        Page<SavedPost> savedPosts = savedPostDao.findByUser(userId, paginationRequest);
+        Slice<SavedPost> savedPosts = savedPostDao.findByUser(userId, paginationRequest);
 
-        log.info("Retrieved {} saved posts for user {} from total {}",
-                savedPosts.getNumberOfElements(), userId, savedPosts.getTotalElements());
+        log.info("Retrieved {} saved posts for user {}",
+                savedPosts.getNumberOfElements(), userId);
 
 
         return CommonUtil.buildPagedResponse(savedPosts, SavedPostMapper::toSavedPostResponse);
@@ -113,10 +115,10 @@ class SavedPostServiceImpl implements SavedPostService {
 
     @Override
     @Transactional
-    public void removeSavedPost(String token, String id) {
+    public void removeSavedPost(AuthPrincipal principal, String id) {
         log.info("Starting to remove saved post: savedPostId={}", id);
 
-        String userId = authUtils.getUserIdFromToken(token);
+        String userId = principal.id();
 
         log.debug("Fetching saved post to delete: savedPostId={}", id);
         SavedPost savedPost = savedPostDao.findById(id).orElseThrow(
@@ -137,6 +139,7 @@ class SavedPostServiceImpl implements SavedPostService {
         postDao.decrementSaveCount(postId);
 
         savedPostDao.deleteById(id);
+        interactionStateDao.recordSave(userId, postId, false);
 
         log.info("Saved post removed successfully: savedPostId={}, userId={}", id, userId);
     }
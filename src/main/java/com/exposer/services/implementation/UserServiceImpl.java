@@ -7,14 +7,16 @@ import com.exposer.models.dto.request.ProfileUpdateRequest;
 import com.exposer.models.dto.response.PagedResponse;
 import com.exposer.models.dto.response.UserResponse;
 import com.exposer.models.dto.response.admin.AdminUserResponse;
+import com.exposer.models.entity.AuthorSnapshot;
 import com.exposer.models.entity.User;
+import com.exposer.security.AuthPrincipal;
 import com.exposer.services.interfaces.UserService;
 import com.exposer.utils.AuthUtils;
 import com.exposer.utils.CommonUtil;
 import com.exposer.utils.mapper.UserMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,12 +30,13 @@ public class UserServiceImpl implements UserService {
 
     private final UserDao userDao;
     private final AuthUtils authUtils;
+    private final AuthorSnapshotFanOut authorSnapshotFanOut;
 
 
     @Override
-    public UserResponse getProfile(String token) {
+    public UserResponse getProfile(AuthPrincipal principal) {
         log.info("Fetching user profile");
-        User user = authUtils.getUserFromToken(token);
+        User user = authUtils.getUser(principal);
 
         log.info("Profile fetched successfully");
         return UserMapper.toUserResponse(user);
@@ -52,16 +55,19 @@ public class UserServiceImpl implements UserService {
 
     @Transactional
     @Override
-    public UserResponse updateProfile(String token, ProfileUpdateRequest request) {
+    public UserResponse updateProfile(AuthPrincipal principal, ProfileUpdateRequest request) {
         log.info("Updating user profile");
-        User user = authUtils.getUserFromToken(token);
+        User user = authUtils.getUser(principal);
 
         Optional.ofNullable(request.getFullName()).ifPresent(user::setFullName);
         Optional.ofNullable(request.getProfilePic()).ifPresent(user::setProfilePic);
 
         if (request.getProfilePic() != null || request.getFullName() != null) {
             log.info("Updating in database");
-            userDao.save(user);
+            User saved = userDao.save(user);
+
+            // Posts and comments embed the name and picture
+            authorSnapshotFanOut.publish(AuthorSnapshot.from(saved));
         }
 
         log.info("User details updated successfully");
@@ -83,9 +89,9 @@ public class UserServiceImpl implements UserService {
     @Override
     public PagedResponse<AdminUserResponse> getUsers(PaginationRequest request) {
         log.info("Fetching all users");
-        Page<User> users = userDao.findByUsers(request);
+        Slice<User> users = userDao.findByUsers(request);
 
-        log.info(users.getTotalElements() == 0 ? "No users available in our record" : "Users fetched successfully");
+        log.info(!users.hasContent() ? "No users available in our record" : "Users fetched successfully");
         return CommonUtil.buildPagedResponse(users, UserMapper::toAdminUserResponse);
     }
 
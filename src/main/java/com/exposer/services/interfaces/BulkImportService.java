@@ -0,0 +1,17 @@
+package com.exposer.services.interfaces;
+
+import com.exposer.models.dto.request.BulkCommentItem;
+import com.exposer.models.dto.request.BulkLikeItem;
+import com.exposer.models.dto.request.BulkPostItem;
+import com.exposer.models.dto.response.BulkWriteResponse;
+
+import java.util.List;
+
+public interface BulkImportService {
+
+    BulkWriteResponse importPosts(List<BulkPostItem> items);
+
+    BulkWriteResponse importComments(List<BulkCommentItem> items);
+
+    BulkWriteResponse importLikes(List<BulkLikeItem> items);
+}
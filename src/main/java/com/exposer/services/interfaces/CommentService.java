@@ -7,22 +7,23 @@ import com.exposer.models.dto.request.PaginationRequest;
 import com.exposer.models.dto.response.CommentResponse;
 import com.exposer.models.dto.response.PagedResponse;
 import com.exposer.models.entity.Comment;
+import com.exposer.security.AuthPrincipal;
 
 import static com.exposer.constants.ErrorMessage.UNAUTHENTICATED_ILLEGAL_MESSAGE;
 
 public interface CommentService {
 
-    CommentResponse addComment(String token, CommentRequest commentRequest);
+    CommentResponse addComment(AuthPrincipal principal, CommentRequest commentRequest);
 
-    CommentResponse replyComment(String comment, String token, CommentRequest commentRequest);
+    CommentResponse replyComment(AuthPrincipal principal, String commentId, CommentRequest commentRequest);
 
-    CommentResponse editComment(String token, String commentId, EditCommentRequest commentRequest);
+    CommentResponse editComment(AuthPrincipal principal, String commentId, EditCommentRequest commentRequest);
 
-    void deleteComment(String token, String commentId);
+    void deleteComment(AuthPrincipal principal, String commentId);
 
     PagedResponse<CommentResponse> getAllComments(PaginationRequest paginationRequest);
 
-    PagedResponse<CommentResponse> getAllCommentByUser(String token, PaginationRequest paginationRequest);
+    PagedResponse<CommentResponse> getAllCommentByUser(AuthPrincipal principal, PaginationRequest paginationRequest);
 
     CommentResponse getCommentWithReplies(String commentId);
 
@@ -4,24 +4,33 @@ import com.exposer.exception.AuthenticationException;
 import com.exposer.models.dto.request.CreateLikeRequest;
 import com.exposer.models.dto.request.PaginationRequest;
 import com.exposer.models.dto.response.LikeResponse;
+import com.exposer.models.dto.response.LikeToggleResponse;
 import com.exposer.models.dto.response.PagedResponse;
 import com.exposer.models.entity.Like;
+import com.exposer.models.entity.enums.LikeType;
+import com.exposer.security.AuthPrincipal;
+
+import java.util.Map;
 
 import static com.exposer.constants.ErrorMessage.UNAUTHENTICATED_ILLEGAL_MESSAGE;
 
 
 public interface LikeService {
 
-    LikeResponse createLike(String token, CreateLikeRequest createLikeRequest);
+    LikeResponse createLike(AuthPrincipal principal, CreateLikeRequest createLikeRequest);
+
+    void deleteLike(AuthPrincipal principal, String likeId);
 
-    void deleteLike(String token, String likeId);
+    LikeToggleResponse toggleLike(AuthPrincipal principal, CreateLikeRequest createLikeRequest);
 
     PagedResponse<LikeResponse> getLikes(PaginationRequest paginationRequest);
 
-    PagedResponse<LikeResponse> getMyLikes(String token, PaginationRequest paginationRequest);
+    PagedResponse<LikeResponse> getMyLikes(AuthPrincipal principal, PaginationRequest paginationRequest);
 
     PagedResponse<LikeResponse> getLikesByTargetId(String targetId, PaginationRequest paginationRequest);
 
+    Map<LikeType, Long> getReactionCounts(String targetId);
+
     static void validateAuthority(String userId, Like like) {
 
         if (!userId.equals(like.getUserId())) {
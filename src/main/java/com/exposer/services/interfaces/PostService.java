@@ -2,34 +2,35 @@ package com.exposer.services.interfaces;
 
 import com.exposer.exception.AuthenticationException;
 import com.exposer.models.dto.request.*;
+import com.exposer.models.dto.response.InteractionStateResponse;
 import com.exposer.models.dto.response.PagedResponse;
 import com.exposer.models.dto.response.PostResponse;
 import com.exposer.models.dto.response.admin.AdminPostResponse;
 import com.exposer.models.entity.Post;
-import com.exposer.models.entity.User;
+import com.exposer.security.AuthPrincipal;
 
 
 import static com.exposer.constants.ErrorMessage.UNAUTHENTICATED_ILLEGAL_MESSAGE;
 
 public interface PostService {
 
-    PostResponse addPost(String token, CreatePostRequest request);
+    PostResponse addPost(AuthPrincipal principal, CreatePostRequest request);
 
-    PostResponse editPost(String token, String postId, EditPostRequest request);
+    PostResponse editPost(AuthPrincipal principal, String postId, EditPostRequest request);
 
-    PostResponse updatePostStatus(String token, UpdatePostStatusRequest request);
+    PostResponse updatePostStatus(AuthPrincipal principal, UpdatePostStatusRequest request);
 
     PagedResponse<AdminPostResponse> getAllPosts(PaginationRequest paginationRequest);
 
-    PagedResponse<PostResponse> myPost(String token, PaginationRequest request);
+    PagedResponse<PostResponse> myPost(AuthPrincipal principal, PaginationRequest request);
 
     PostResponse postById(String postId);
 
     void deletePostById(String postId);
 
-    static void validateAuthority(User user, Post post) {
+    static void validateAuthority(String userId, Post post) {
 
-        if (!post.getAuthor().getId().equals(user.getId())) {
+        if (!post.getAuthor().getId().equals(userId)) {
             throw new AuthenticationException(UNAUTHENTICATED_ILLEGAL_MESSAGE);
         }
 
@@ -39,5 +40,7 @@ public interface PostService {
 
     PagedResponse<PostResponse> getRecommendedPost(String interestTagHeader, PaginationRequest paginationRequest);
 
+    InteractionStateResponse getInteractionState(AuthPrincipal principal, InteractionStateRequest request);
+
 
 }
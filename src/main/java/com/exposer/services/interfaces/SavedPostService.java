@@ -6,21 +6,22 @@ import com.exposer.models.dto.request.SavedPostRequest;
 import com.exposer.models.dto.response.PagedResponse;
 import com.exposer.models.dto.response.SavedPostResponse;
 import com.exposer.models.entity.SavedPost;
+import com.exposer.security.AuthPrincipal;
 
 import static com.exposer.constants.ErrorMessage.UNAUTHENTICATED_ILLEGAL_MESSAGE;
 
 public interface SavedPostService {
 
-    SavedPostResponse savePost(String token, SavedPostRequest savedPostRequest);
+    SavedPostResponse savePost(AuthPrincipal principal, SavedPostRequest savedPostRequest);
 
     /**
      * For Admin
      */
     PagedResponse<SavedPostResponse> getAllSavedPosts(PaginationRequest paginationRequest);
 
-    PagedResponse<SavedPostResponse> mySavedPost(String token, PaginationRequest paginationRequest);
+    PagedResponse<SavedPostResponse> mySavedPost(AuthPrincipal principal, PaginationRequest paginationRequest);
 
-    void removeSavedPost(String token, String id);
+    void removeSavedPost(AuthPrincipal principal, String id);
 
     static void validateAuthority(String userId, SavedPost savedPost) {
 
@@ -5,14 +5,15 @@ import com.exposer.models.dto.request.ProfileUpdateRequest;
 import com.exposer.models.dto.response.PagedResponse;
 import com.exposer.models.dto.response.UserResponse;
 import com.exposer.models.dto.response.admin.AdminUserResponse;
+import com.exposer.security.AuthPrincipal;
 
 public interface UserService {
 
-    UserResponse getProfile(String token);
+    UserResponse getProfile(AuthPrincipal principal);
 
     UserResponse getByUsername(String username);
 
-    UserResponse updateProfile(String token, ProfileUpdateRequest profileUpdateRequest);
+    UserResponse updateProfile(AuthPrincipal principal, ProfileUpdateRequest profileUpdateRequest);
 
     void deleteUser(String username);
 
@@ -6,11 +6,17 @@ import com.exposer.dao.interfaces.UserDao;
 import com.exposer.exception.InvalidTokenException;
 import com.exposer.exception.JwtExpiredException;
 import com.exposer.exception.ResourceNotFoundException;
+import com.exposer.models.dto.TokenClaims;
 import com.exposer.models.entity.User;
 import com.exposer.models.entity.enums.AuthProviderType;
+import com.exposer.security.AuthPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -21,36 +27,45 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
 
 import static com.exposer.constants.AppConstants.AUTHORIZATION_HEADER_PREFIX;
 
+/**
+ * @implNote The signing key and the JWT parser are built once. Verified claims are cached by the
+ * SHA-256 of the token until the token's own expiry, so a token is verified once per process
+ * instead of on every call.
+ */
 @Component
 @Slf4j
 public class AuthUtils {
 
     private final UserDao userDao;
+    private final String apiBaseUrl;
+    private final SecretKey secretKey;
+    private final JwtParser jwtParser;
+    private final Cache<String, TokenClaims> verifiedTokens;
 
-    @Value("${jwt.secret.key}")
-    private String jwtSecretKey;
+    public AuthUtils(UserDao userDao,
+                     @Value("${jwt.secret.key}") String jwtSecretKey,
+                     @Value("${api.base.url}") String apiBaseUrl,
+                     @Value("${jwt.claims-cache.maximum-size:10000}") long claimsCacheSize) {
 
-    @Value("${api.base.url}")
-    private String apiBaseUrl;
-
-    public AuthUtils(UserDao userDao) {
         this.userDao = userDao;
-    }
-
-    private SecretKey getSecretKey() {
-        return Keys.hmacShaKeyFor(jwtSecretKey.getBytes(StandardCharsets.UTF_8));
-    }
-
-    public String getUserRoles(String token) {
-        Claims claims = extractClaimsFromToken(token);
-        log.info("Claims : {}", claims);
-        log.info("Username : {}", claims.getSubject());
-        log.info("Authorities : {}", claims.get("role"));
-        return claims.get("role", String.class);
+        this.apiBaseUrl = apiBaseUrl;
+        this.secretKey = Keys.hmacShaKeyFor(jwtSecretKey.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser().verifyWith(secretKey).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(claimsCacheSize)
+                .expireAfter(Expiry.<String, TokenClaims>creating((_, claims) -> {
+                    Duration remaining = Duration.between(Instant.now(), claims.expiresAt());
+                    return remaining.isNegative() ? Duration.ZERO : remaining;
+                }))
+                .build();
     }
 
     public String generateAccessToken(User user) {
@@ -66,20 +81,42 @@ public class AuthUtils {
                 .expiration(AppConstants.getJwtExpirationDate())
                 .issuer(apiBaseUrl)
                 .and()
-                .signWith(getSecretKey())
+                .signWith(secretKey)
                 .compact();
     }
 
+    /**
+     * Verifies the token once and returns its claims; later calls with the same token are served from memory.
+     */
+    public TokenClaims parseToken(String token) {
+
+        if (token.startsWith(AUTHORIZATION_HEADER_PREFIX)) {
+            token = token.substring(AUTHORIZATION_HEADER_PREFIX.length());
+        }
+
+        String jwt = token;
+        TokenClaims claims = verifiedTokens.get(sha256(jwt), _ -> toTokenClaims(extractClaimsFromToken(jwt)));
+
+        // Cached entries are evicted lazily, an entry can outlive its expiry by a few moments
+        if (claims.isExpired()) {
+            throw new JwtExpiredException("Token is expired");
+        }
+        return claims;
+    }
+
+    private TokenClaims toTokenClaims(Claims claims) {
+        Object id = claims.get("id");
+        return new TokenClaims(
+                claims.getSubject(),
+                id == null ? null : id.toString(),
+                claims.get("role", String.class),
+                claims.getExpiration().toInstant()
+        );
+    }
+
     private Claims extractClaimsFromToken(String token) {
         try {
-            if (token.startsWith(AUTHORIZATION_HEADER_PREFIX)) {
-                token = token.substring(AUTHORIZATION_HEADER_PREFIX.length());
-            }
-            return Jwts.parser()
-                    .verifyWith(getSecretKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return jwtParser.parseSignedClaims(token).getPayload();
 
         } catch (ExpiredJwtException e) {
             log.info("Token expired: ***** msg: {}", e.getMessage());
@@ -93,26 +130,17 @@ public class AuthUtils {
         }
     }
 
-
-    private boolean isTokenExpired(String token) {
-        Claims claims = extractClaimsFromToken(token);
-        return claims.getExpiration().before(new Date());
-    }
-
-    public boolean validateToken(String token, UserDetails userDetails) {
-        String username = getUsernameFromToken(token);
-        boolean tokenExpired = isTokenExpired(token);
-        return username.equals(userDetails.getUsername()) && !tokenExpired;
-    }
-
-    public String getUsernameFromToken(String token) {
-        Claims claims = this.extractClaimsFromToken(token);
-        return claims.getSubject();
+    private static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 
-    public String getUserIdFromToken(String token) {
-        Claims claims = this.extractClaimsFromToken(token);
-        return claims.get("id").toString();
+    public boolean validateToken(TokenClaims claims, UserDetails userDetails) {
+        return claims.username().equals(userDetails.getUsername()) && !claims.isExpired();
     }
 
     public AuthProviderType getProviderTypeFromRegistrationId(String registrationId) {
@@ -142,14 +170,13 @@ public class AuthUtils {
         return providerId;
     }
 
-    public User getUserFromToken(String jwt) {
-        log.info("Getting user from token: ****");
-
-        String username = getUsernameFromToken(jwt);
-        log.info("Extracted username: {}", username);
-
+    /**
+     * Loads the full user behind an authenticated principal, only for callers that need more than the id.
+     */
+    public User getUser(AuthPrincipal principal) {
+        log.info("Getting user for principal: {}", principal.username());
 
-        Optional<User> userOptional = userDao.findByUsername(username);
+        Optional<User> userOptional = userDao.findById(principal.id());
 
         if (userOptional.isPresent()) {
             User user = userOptional.get();
@@ -157,8 +184,8 @@ public class AuthUtils {
                     user.getId(), user.getEmail(), user.getFullName());
             return user;
         } else {
-            log.error("No user found for username: {}", username);
-            throw new ResourceNotFoundException("User not found for username: " + username);
+            log.error("No user found for id: {}", principal.id());
+            throw new ResourceNotFoundException("User not found for username: " + principal.username());
         }
     }
 }
@@ -1,15 +1,18 @@
 package com.exposer.utils;
 
 import com.exposer.models.dto.request.PaginationRequest;
+import com.exposer.models.dto.response.CursorResponse;
 import com.exposer.models.dto.response.PagedResponse;
 import lombok.NonNull;
 import lombok.experimental.UtilityClass;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
@@ -32,22 +35,45 @@ public class CommonUtil {
     /**
      * @param <I>    the input type (source)
      * @param <O>    the output type (target)
-     * @param page   the source page containing input elements
+     * @param slice  the source page containing input elements, totals are only set for a {@link Page}
      * @param mapper function to convert input elements to output type
-     * @return transformed paged response with output elements
+     * @return transformed paged response with output elements, a {@link CursorResponse} for a {@link CursorSlice}
      */
-    public <I, O> PagedResponse<O> buildPagedResponse(Page<@NonNull I> page, Function<I, O> mapper) {
-        return PagedResponse.<O>builder()
-                .content(page.getContent().stream()
-                        .map(mapper)
-                        .toList())
-                .isFirst(page.isFirst())
-                .isLast(page.isLast())
-                .pageNumber(page.getNumber())
-                .pageSize(page.getSize())
-                .totalElements(page.getTotalElements())
-                .totalPages(page.getTotalPages())
-                .build();
+    public <I, O> PagedResponse<O> buildPagedResponse(Slice<@NonNull I> slice, Function<I, O> mapper) {
+
+        List<O> content = slice.getContent().stream()
+                .map(mapper)
+                .toList();
+
+        if (slice instanceof CursorSlice<I> cursorSlice) {
+            return CursorResponse.<O>builder()
+                    .content(content)
+                    .isFirst(cursorSlice.isFirst())
+                    .isLast(!cursorSlice.hasNext())
+                    .pageNumber(cursorSlice.getNumber())
+                    .pageSize(cursorSlice.getSize())
+                    .hasNext(cursorSlice.hasNext())
+                    .nextCursor(cursorSlice.getNextCursor())
+                    .build();
+        }
+
+        PagedResponse.PagedResponseBuilder<O, ?, ?> builder = PagedResponse.<O>builder()
+                .content(content)
+                .isFirst(slice.isFirst())
+                .isLast(slice.isLast())
+                .pageNumber(slice.getNumber())
+                .pageSize(slice.getSize());
+
+        if (slice instanceof Page<I> page) {
+            builder.totalElements(page.getTotalElements())
+                    .totalPages((long) page.getTotalPages());
+        }
+
+        return builder.build();
+    }
+
+    public boolean isCursorRequest(PaginationRequest request) {
+        return Boolean.TRUE.equals(request.getUseCursor());
     }
 
     public Pageable toBuildSortAndPage(PaginationRequest request) {
@@ -0,0 +1,33 @@
+package com.exposer.utils;
+
+import lombok.Getter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+/**
+ * A keyset page, carries the cursor of the next page instead of a page number.
+ */
+@Getter
+public class CursorSlice<T> extends SliceImpl<T> {
+
+    private final boolean first;
+    private final String nextCursor;
+
+    public CursorSlice(List<T> content, int size, boolean first, String nextCursor) {
+        super(content, PageRequest.of(0, size), nextCursor != null);
+        this.first = first;
+        this.nextCursor = nextCursor;
+    }
+
+    @Override
+    public boolean isFirst() {
+        return first;
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return !first;
+    }
+}
@@ -0,0 +1,68 @@
+package com.exposer.utils;
+
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Encodes the position of the last element of a keyset page (its sort value and id)
+ * into an opaque, url-safe cursor.
+ */
+@UtilityClass
+public class CursorUtil {
+
+    private static final char SEPARATOR = ':';
+
+    public record Cursor(Object sortValue, String id) {
+    }
+
+    public String encode(Object sortValue, String id) {
+
+        String raw = switch (sortValue) {
+            case null -> "n" + SEPARATOR + id + SEPARATOR;
+            case Instant instant -> "i" + SEPARATOR + id + SEPARATOR + instant;
+            case Integer number -> "l" + SEPARATOR + id + SEPARATOR + number;
+            case Long number -> "l" + SEPARATOR + id + SEPARATOR + number;
+            case Double number -> "d" + SEPARATOR + id + SEPARATOR + number;
+            case Boolean bool -> "b" + SEPARATOR + id + SEPARATOR + bool;
+            case Enum<?> constant -> "s" + SEPARATOR + id + SEPARATOR + constant.name();
+            default -> "s" + SEPARATOR + id + SEPARATOR + sortValue;
+        };
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode}
+     */
+    public Cursor decode(String cursor) {
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+
+            int first = raw.indexOf(SEPARATOR);
+            int second = raw.indexOf(SEPARATOR, first + 1);
+            if (first != 1 || second < 0) throw new IllegalArgumentException("Invalid cursor");
+
+            String id = raw.substring(first + 1, second);
+            String value = raw.substring(second + 1);
+
+            Object sortValue = switch (raw.charAt(0)) {
+                case 'n' -> null;
+                case 'i' -> Instant.parse(value);
+                case 'l' -> Long.parseLong(value);
+                case 'd' -> Double.parseDouble(value);
+                case 'b' -> Boolean.parseBoolean(value);
+                case 's' -> value;
+                default -> throw new IllegalArgumentException("Invalid cursor");
+            };
+
+            return new Cursor(sortValue, id);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
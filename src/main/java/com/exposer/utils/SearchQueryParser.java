@@ -0,0 +1,59 @@
+package com.exposer.utils;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Turns free text from the search box into safe inputs for the post search.
+ * <p>
+ * User input is never passed to Mongo as an operator, a regex or a {@code $text} expression:
+ * phrase quotes, negation and escapes are stripped before terms reach {@code $text}, and
+ * regex metacharacters are escaped for the title prefix fallback.
+ */
+@UtilityClass
+public class SearchQueryParser {
+
+    private static final int MAX_TERMS = 10;
+    private static final Pattern TEXT_OPERATORS = Pattern.compile("[\"\\\\]");
+    private static final Pattern REGEX_METACHARACTERS = Pattern.compile("[\\\\.^$|?*+()\\[\\]{}]");
+
+    /**
+     * @return up to {@value #MAX_TERMS} distinct plain terms for {@code $text}, empty for a blank query
+     */
+    public List<String> parseTerms(String query) {
+
+        if (query == null || query.isBlank()) return List.of();
+
+        return Arrays.stream(TEXT_OPERATORS.matcher(query).replaceAll(" ").trim().split("\\s+"))
+                .map(term -> term.replaceFirst("^-+", ""))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .limit(MAX_TERMS)
+                .toList();
+    }
+
+    /**
+     * Anchored, case-sensitive prefixes so the title index bounds the scan; the query is tried
+     * as typed, lower-cased and capitalized.
+     */
+    public List<Pattern> titlePrefixPatterns(String query) {
+
+        if (query == null || query.isBlank()) return List.of();
+
+        String trimmed = query.trim();
+        Set<String> variants = new LinkedHashSet<>();
+        variants.add(trimmed);
+        variants.add(trimmed.toLowerCase(Locale.ROOT));
+        variants.add(Character.toUpperCase(trimmed.charAt(0)) + trimmed.substring(1));
+
+        return variants.stream()
+                .map(variant -> Pattern.compile("^" + REGEX_METACHARACTERS.matcher(variant).replaceAll("\\\\$0")))
+                .toList();
+    }
+}
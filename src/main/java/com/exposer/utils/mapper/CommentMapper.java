@@ -3,9 +3,10 @@ package com.exposer.utils.mapper;
 import com.exposer.models.dto.response.CommentResponse;
 import com.exposer.models.entity.Comment;
 import com.exposer.models.entity.CommentStats;
-import com.exposer.models.entity.User;
 import lombok.experimental.UtilityClass;
 
+import java.util.Map;
+
 @UtilityClass
 public class CommentMapper {
 
@@ -15,7 +16,6 @@ public class CommentMapper {
             return null;
         }
 
-        User user = comment.getUser();
         CommentStats stats = comment.getStats();
 
 
@@ -23,7 +23,7 @@ public class CommentMapper {
                 .id(comment.getId())
                 .description(comment.getDescription())
                 .postId(comment.getPostId())
-                .user(UserMapper.toBasicUserResponse(user))
+                .user(UserMapper.toBasicUserResponse(comment.getAuthorSnapshot(), comment.getUser()))
                 .parentCommentId(comment.getParentCommentId())
                 .isEdited(comment.isEdited())
                 .isDeleted(comment.isDeleted())
@@ -44,6 +44,7 @@ public class CommentMapper {
         return CommentStats.builder()
                 .likeCount(stats.getLikeCount())
                 .reportCount(stats.getReportCount())
+                .reactionCounts(stats.getReactionCounts() == null ? Map.of() : stats.getReactionCounts())
                 .build();
     }
 }
\ No newline at end of file
@@ -7,6 +7,8 @@ import com.exposer.models.entity.Post;
 import com.exposer.models.entity.PostStats;
 import lombok.experimental.UtilityClass;
 
+import java.util.Map;
+
 @UtilityClass
 public class PostMapper {
 
@@ -21,7 +23,7 @@ public class PostMapper {
                 .title(post.getTitle())
                 .content(post.getContent())
                 .image(post.getImage())
-                .author(UserMapper.toBasicUserResponse(post.getAuthor()))
+                .author(UserMapper.toBasicUserResponse(post.getAuthorSnapshot(), post.getAuthor()))
                 .tags(post.getTags())
                 .hasComments(post.isHasComments())
                 .status(post.isActive())
@@ -29,6 +31,7 @@ public class PostMapper {
                         .commentCount(post.getPostStats().getCommentCount())
                         .likeCount(post.getPostStats().getLikeCount())
                         .saveCount(post.getPostStats().getSaveCount())
+                        .reactionCounts(post.getPostStats().getReactionCounts() == null ? Map.of() : post.getPostStats().getReactionCounts())
                         .build())
                 .createdAt(post.getCreatedAt())
                 .updatedAt(post.getUpdatedAt())
@@ -62,7 +65,7 @@ public class PostMapper {
                 .title(post.getTitle())
                 .content(post.getContent())
                 .image(post.getImage())
-                .author(UserMapper.toBasicUserResponse(post.getAuthor()))
+                .author(UserMapper.toBasicUserResponse(post.getAuthorSnapshot(), post.getAuthor()))
                 .tags(post.getTags())
                 .hasComments(post.isHasComments())
                 .status(post.isActive())
@@ -70,6 +73,7 @@ public class PostMapper {
                         .commentCount(post.getPostStats().getCommentCount())
                         .likeCount(post.getPostStats().getLikeCount())
                         .saveCount(post.getPostStats().getSaveCount())
+                        .reactionCounts(post.getPostStats().getReactionCounts() == null ? Map.of() : post.getPostStats().getReactionCounts())
                         .build())
                 .createdAt(post.getCreatedAt())
                 .updatedAt(post.getUpdatedAt())
@@ -3,6 +3,7 @@ package com.exposer.utils.mapper;
 import com.exposer.models.dto.response.BasicUserResponse;
 import com.exposer.models.dto.response.admin.AdminUserResponse;
 import com.exposer.models.dto.response.UserResponse;
+import com.exposer.models.entity.AuthorSnapshot;
 import com.exposer.models.entity.User;
 import lombok.experimental.UtilityClass;
 
@@ -47,6 +48,23 @@ public class UserMapper {
                 .build();
     }
 
+    /**
+     * Prefers the embedded snapshot, documents written before snapshots existed fall back to the reference.
+     */
+    public BasicUserResponse toBasicUserResponse(AuthorSnapshot snapshot, User user) {
+
+        if (snapshot == null) {
+            return toBasicUserResponse(user);
+        }
+
+        return BasicUserResponse.builder()
+                .username(snapshot.getUsername())
+                .id(snapshot.getId())
+                .profilePicture(snapshot.getProfilePic())
+                .fullName(snapshot.getFullName())
+                .build();
+    }
+
     public AdminUserResponse toAdminUserResponse(User user) {
 
         if (user == null) {